@@ -13,6 +13,9 @@ public class MongoConfig extends AbstractMongoClientConfiguration {
     @Value("${spring.data.mongodb.database}")
     private String dbName;
 
+    @Value("${spring.data.mongodb.auto-index-creation:false}")
+    private boolean autoIndexCreation;
+
     @Bean
     public MongoTransactionManager transactionManager(MongoDatabaseFactory dbFactory) {
         return new MongoTransactionManager(dbFactory);
@@ -22,4 +25,10 @@ public class MongoConfig extends AbstractMongoClientConfiguration {
     protected String getDatabaseName() {
         return dbName;
     }
+
+    //The client configuration does not pick up the Spring Boot property on its own
+    @Override
+    protected boolean autoIndexCreation() {
+        return autoIndexCreation;
+    }
 }
@@ -0,0 +1,107 @@
+package com.test.config;
+
+import com.mongodb.ExplainVerbosity;
+import com.test.template.models.complete.CompleteTemplate;
+import com.test.template.models.enums.AccessStatus;
+import com.test.template.service.helpers.TemplateVisibilityCriteria;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+/**
+ * Explains the query shapes used by the template services on startup and logs every shape
+ * which can only be served by a collection scan. Values used in the shapes are placeholders,
+ * only the plan selected by MongoDB is of interest.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "mongo.query-plan-check.enabled", havingValue = "true")
+public class QueryPlanVerifier {
+
+  private static final String COLLECTION_SCAN = "COLLSCAN";
+  private static final String SAMPLE_VALUE = "sample";
+
+  private final MongoTemplate mongoTemplate;
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void verifyQueryPlans() {
+    buildTemplateQueryShapes().forEach((name, query) -> verifyQueryPlan(name, query, CompleteTemplate.class));
+  }
+
+  private Map<String, Query> buildTemplateQueryShapes() {
+    Sort newestFirst = Sort.by(Sort.Direction.DESC, "createTime");
+    Map<String, Query> shapes = new LinkedHashMap<>();
+
+    shapes.put("templates by access status", new Query(Criteria.where("accessStatus").is(AccessStatus.PUBLIC))
+        .with(newestFirst));
+    shapes.put("templates by creator", new Query(Criteria.where("creatorName").is(SAMPLE_VALUE)));
+    shapes.put("templates by creator and access status", new Query(Criteria.where("creatorName").is(SAMPLE_VALUE)
+        .and("accessStatus").is(AccessStatus.PUBLIC)));
+    shapes.put("templates by category and tags", new Query(Criteria.where("accessStatus").is(AccessStatus.PUBLIC)
+        .and("category").is(SAMPLE_VALUE).and("tags").in(SAMPLE_VALUE)).with(newestFirst));
+    shapes.put("original templates", new Query(Criteria.where("accessStatus").is(AccessStatus.PUBLIC)
+        .and("parentDetails.parentId").exists(false)).with(newestFirst));
+    shapes.put("templates by approval percent", new Query(Criteria.where("accessStatus").is(AccessStatus.PUBLIC)
+        .and("templateApprovalPercent").gte(50)));
+    shapes.put("templates by median duration", new Query(Criteria.where("accessStatus").is(AccessStatus.PUBLIC)
+        .and("templateMedianDurationSeconds").lte(3600)));
+    shapes.put("templates by completion rate", new Query(Criteria.where("accessStatus").is(AccessStatus.PUBLIC)
+        .and("completionRate").gt(50)));
+    shapes.put("templates visible to user", new Query(TemplateVisibilityCriteria.visibleTo(SAMPLE_VALUE,
+        List.of(SAMPLE_VALUE))));
+
+    return shapes;
+  }
+
+  private void verifyQueryPlan(String name, Query query, Class<?> entityClass) {
+    MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext().getPersistentEntity(entityClass);
+    QueryMapper queryMapper = new QueryMapper(mongoTemplate.getConverter());
+
+    try {
+      Document plan = mongoTemplate.getCollection(mongoTemplate.getCollectionName(entityClass))
+          .find(queryMapper.getMappedObject(query.getQueryObject(), entity))
+          .sort(queryMapper.getMappedSort(query.getSortObject(), entity))
+          .explain(ExplainVerbosity.QUERY_PLANNER);
+
+      if (containsStage(plan.get("queryPlanner"), COLLECTION_SCAN)) {
+        log.warn("Query shape '{}' can only be served by a collection scan: {}", name, query.getQueryObject().toJson());
+      } else {
+        log.debug("Query shape '{}' is served by an index", name);
+      }
+    } catch (RuntimeException e) {
+      log.warn("Unable to explain query shape '{}'", name, e);
+    }
+  }
+
+  private boolean containsStage(Object planNode, String stage) {
+    if (planNode instanceof Document document) {
+      if (stage.equals(document.get("stage"))) {
+        return true;
+      }
+      //Rejected plans are irrelevant as they are never executed
+      return document.entrySet().stream()
+          .filter(entry -> !"rejectedPlans".equals(entry.getKey()))
+          .anyMatch(entry -> containsStage(entry.getValue(), stage));
+    }
+    if (planNode instanceof Collection<?> nodes) {
+      return nodes.stream().anyMatch(node -> containsStage(node, stage));
+    }
+    return false;
+  }
+
+}
@@ -0,0 +1,69 @@
+package com.test.config;
+
+import com.test.utils.VirtualThreads;
+import jakarta.annotation.PostConstruct;
+import java.util.concurrent.ThreadFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnJava;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+/**
+ * Runs request handling and the async task executor (async MVC results, streamed responses) on virtual threads
+ * instead of the bounded platform thread pools, so concurrent requests are no longer bounded by the Tomcat workers.
+ * The 4.9 Mongo driver still blocks inside synchronized sections, which pins the carrier thread of a virtual thread
+ * waiting on the database, so the gain for database bound requests is limited until the driver is upgraded.
+ * Compare both modes with VirtualThreadLoadBenchmark before enabling. Runtimes older than Java 21 keep the platform pools.
+ */
+@Configuration
+@ConditionalOnProperty(name = "templates.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+  private static final String REQUEST_THREAD_PREFIX = "http-virtual-";
+  private static final String TASK_THREAD_PREFIX = "task-virtual-";
+
+  @Configuration
+  @ConditionalOnJava(JavaVersion.TWENTY_ONE)
+  static class VirtualThreadExecutors {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+      ThreadFactory threadFactory = requireThreadFactory(REQUEST_THREAD_PREFIX);
+      return protocolHandler -> protocolHandler.setExecutor(task -> threadFactory.newThread(task).start());
+    }
+
+    //Replaces the pool Spring Boot would otherwise create under the same names
+    @Bean(name = {"applicationTaskExecutor", "taskExecutor"})
+    public AsyncTaskExecutor applicationTaskExecutor() {
+      SimpleAsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor();
+      taskExecutor.setThreadFactory(requireThreadFactory(TASK_THREAD_PREFIX));
+      return taskExecutor;
+    }
+
+    private static ThreadFactory requireThreadFactory(final String namePrefix) {
+      return VirtualThreads.threadFactory(namePrefix)
+          .orElseThrow(() -> new IllegalStateException("Virtual threads are not supported by this runtime"));
+    }
+
+  }
+
+  @Slf4j
+  @Configuration
+  @ConditionalOnJava(value = JavaVersion.TWENTY_ONE, range = ConditionalOnJava.Range.OLDER_THAN)
+  static class PlatformThreadFallback {
+
+    @PostConstruct
+    public void warnVirtualThreadsUnavailable() {
+      log.warn("Virtual threads are enabled but require Java 21, running on {} with platform thread pools",
+          Runtime.version());
+    }
+
+  }
+
+}
@@ -0,0 +1,36 @@
+package com.test.outbox.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document("outbox_events")
+@CompoundIndexes({
+    @CompoundIndex(name = "status_next_attempt_index", def = "{'status': 1, 'nextAttemptTime': 1}"),
+    @CompoundIndex(name = "status_lease_expiry_index", def = "{'status': 1, 'leaseExpiry': 1}")
+})
+public class OutboxEvent {
+
+    @Id
+    private String id;
+    private OutboxEventType type;
+    private String targetId;
+    private OutboxEventStatus status;
+    private int attempts;
+    private String lastError;
+    private LocalDateTime createTime;
+    private LocalDateTime nextAttemptTime;
+    //Until when the dispatcher which claimed the event owns it, afterwards it can be claimed again
+    private LocalDateTime leaseExpiry;
+}
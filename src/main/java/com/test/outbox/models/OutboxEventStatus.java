@@ -0,0 +1,7 @@
+package com.test.outbox.models;
+
+public enum OutboxEventStatus {
+    PENDING,
+    PROCESSING,
+    FAILED
+}
@@ -0,0 +1,7 @@
+package com.test.outbox.models;
+
+public enum OutboxEventType {
+    DELETE_DRAFT,
+    DELETE_JOURNAL,
+    INCREMENT_BRANCHES
+}
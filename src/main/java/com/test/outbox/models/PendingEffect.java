@@ -0,0 +1,29 @@
+package com.test.outbox.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.bson.types.ObjectId;
+
+import java.time.LocalDateTime;
+
+/**
+ * Side effect stored on the document whose write caused it, so both are persisted in one write.
+ * The effect id becomes the id of the {@link OutboxEvent} it is moved into.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PendingEffect {
+
+    private String effectId;
+    private OutboxEventType type;
+    private String targetId;
+    private LocalDateTime createTime;
+
+    public static PendingEffect of(OutboxEventType type, String targetId) {
+        return new PendingEffect(new ObjectId().toHexString(), type, targetId, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,13 @@
+package com.test.outbox.models;
+
+import java.util.List;
+
+/**
+ * Document which can carry {@link PendingEffect}s written together with it.
+ */
+public interface PendingEffectHolder {
+
+    String getId();
+
+    List<PendingEffect> getPendingEffects();
+}
@@ -0,0 +1,10 @@
+package com.test.outbox.repository;
+
+import com.test.outbox.models.OutboxEvent;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OutboxEventRepository extends MongoRepository<OutboxEvent, String> {
+
+}
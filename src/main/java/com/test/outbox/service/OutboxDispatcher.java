@@ -0,0 +1,212 @@
+package com.test.outbox.service;
+
+import com.test.outbox.models.OutboxEvent;
+import com.test.outbox.models.OutboxEventStatus;
+import com.test.outbox.models.PendingEffect;
+import com.test.outbox.models.PendingEffectHolder;
+import com.test.outbox.repository.OutboxEventRepository;
+import com.test.template.models.complete.CompleteTemplate;
+import com.test.template.models.draft.TemplateDraft;
+import com.test.template.repository.TemplateDraftRepository;
+import com.test.template.repository.TrackedTemplateRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Moves the {@link PendingEffect}s written together with templates and drafts into the outbox, then processes
+ * pending {@link OutboxEvent}s in batches. Each event is claimed atomically with a lease before it is
+ * handled, so concurrent dispatchers on several instances never process the same event. Events whose lease ran out,
+ * because the claiming instance crashed, are claimed again. Processed events are removed, failed ones are retried
+ * with exponential backoff until the attempt limit is reached, after which they are kept as FAILED.
+ * Events are delivered at least once, handlers are idempotent so a redelivery has no further effect.
+ */
+@Slf4j
+@Component
+public class OutboxDispatcher {
+
+  private static final String STATUS = "status";
+  private static final String LEASE_EXPIRY = "leaseExpiry";
+  private static final String APPLIED_BRANCH_EVENTS = "appliedBranchEvents";
+  private static final String PENDING_EFFECTS = "pendingEffects";
+  private static final List<Class<? extends PendingEffectHolder>> EFFECT_HOLDERS =
+      List.of(CompleteTemplate.class, TemplateDraft.class);
+  //Redeliveries follow shortly after the first delivery, so only the most recent events need to be remembered
+  private static final int APPLIED_EVENTS_KEPT = 50;
+
+  private final OutboxEventRepository outboxEventRepository;
+  private final TemplateDraftRepository draftRepository;
+  private final TrackedTemplateRepository trackedTemplateRepository;
+  private final MongoTemplate mongoTemplate;
+  private final int batchSize;
+  private final int maxAttempts;
+  private final Duration retryBackoff;
+  private final Duration lease;
+
+  public OutboxDispatcher(OutboxEventRepository outboxEventRepository,
+                          TemplateDraftRepository draftRepository,
+                          TrackedTemplateRepository trackedTemplateRepository,
+                          MongoTemplate mongoTemplate,
+                          @Value("${outbox.batch-size}") int batchSize,
+                          @Value("${outbox.max-attempts}") int maxAttempts,
+                          @Value("${outbox.retry-backoff}") Duration retryBackoff,
+                          @Value("${outbox.lease}") Duration lease) {
+    this.outboxEventRepository = outboxEventRepository;
+    this.draftRepository = draftRepository;
+    this.trackedTemplateRepository = trackedTemplateRepository;
+    this.mongoTemplate = mongoTemplate;
+    this.batchSize = batchSize;
+    this.maxAttempts = maxAttempts;
+    this.retryBackoff = retryBackoff;
+    this.lease = lease;
+  }
+
+  @Scheduled(fixedDelayString = "${outbox.dispatch-interval}")
+  public synchronized void dispatch() {
+    List<OutboxEvent> events;
+    try {
+      for (Class<? extends PendingEffectHolder> holderType : EFFECT_HOLDERS) {
+        relayPendingEffects(new Query(Criteria.where(PENDING_EFFECTS).exists(true)), holderType);
+      }
+      do {
+        events = claimBatch();
+        processBatch(events);
+      } while (events.size() == batchSize);
+    } catch (DataAccessException e) {
+      log.warn("Unable to dispatch outbox events", e);
+    }
+  }
+
+  /**
+   * Inserts an event per pending effect of the matching documents and removes the effects from them afterwards.
+   * Events are keyed on the effect id, so effects relayed again after a crash do not create a second event.
+   */
+  private void relayPendingEffects(Query holderQuery, Class<? extends PendingEffectHolder> holderType) {
+    holderQuery.fields().include(PENDING_EFFECTS);
+    for (PendingEffectHolder holder : mongoTemplate.find(holderQuery, holderType)) {
+      List<String> effectIds = new ArrayList<>();
+      for (PendingEffect effect : holder.getPendingEffects()) {
+        mongoTemplate.upsert(new Query(Criteria.where("id").is(effect.getEffectId())), new Update()
+            .setOnInsert("type", effect.getType())
+            .setOnInsert("targetId", effect.getTargetId())
+            .setOnInsert(STATUS, OutboxEventStatus.PENDING)
+            .setOnInsert("attempts", 0)
+            .setOnInsert("createTime", effect.getCreateTime())
+            .setOnInsert("nextAttemptTime", LocalDateTime.now()), OutboxEvent.class);
+        effectIds.add(effect.getEffectId());
+      }
+
+      mongoTemplate.updateFirst(new Query(Criteria.where("id").is(holder.getId())),
+          new Update().pull(PENDING_EFFECTS, new Document("effectId", new Document("$in", effectIds))), holderType);
+      //Keeps the sparse index limited to documents which still have effects
+      mongoTemplate.updateFirst(new Query(Criteria.where("id").is(holder.getId()).and(PENDING_EFFECTS).size(0)),
+          new Update().unset(PENDING_EFFECTS), holderType);
+    }
+  }
+
+  private List<OutboxEvent> claimBatch() {
+    LocalDateTime now = LocalDateTime.now();
+    Query claimableQuery = new Query(new Criteria().orOperator(
+        Criteria.where(STATUS).is(OutboxEventStatus.PENDING).and("nextAttemptTime").lte(now),
+        Criteria.where(STATUS).is(OutboxEventStatus.PROCESSING).and(LEASE_EXPIRY).lte(now)))
+        .with(Sort.by("nextAttemptTime"));
+    Update claim = new Update().set(STATUS, OutboxEventStatus.PROCESSING).set(LEASE_EXPIRY, now.plus(lease));
+
+    List<OutboxEvent> claimed = new ArrayList<>();
+    while (claimed.size() < batchSize) {
+      OutboxEvent event = mongoTemplate.findAndModify(claimableQuery, claim,
+          FindAndModifyOptions.options().returnNew(true), OutboxEvent.class);
+      if (Objects.isNull(event)) {
+        break;
+      }
+      claimed.add(event);
+    }
+    return claimed;
+  }
+
+  private void processBatch(List<OutboxEvent> events) {
+    List<String> processed = new ArrayList<>();
+
+    for (OutboxEvent event : events) {
+      try {
+        handle(event);
+        processed.add(event.getId());
+      } catch (RuntimeException e) {
+        log.warn("Outbox event {} of type {} failed on attempt {}", event.getId(), event.getType(),
+            event.getAttempts() + 1, e);
+        LocalDateTime claimedLeaseExpiry = event.getLeaseExpiry();
+        scheduleRetry(event, e);
+        saveRetry(event, claimedLeaseExpiry);
+      }
+    }
+
+    if (!processed.isEmpty()) {
+      outboxEventRepository.deleteAllById(processed);
+    }
+  }
+
+  private void handle(OutboxEvent event) {
+    switch (event.getType()) {
+      case DELETE_DRAFT -> {
+        //Effects still pending on the draft would be lost together with it
+        relayPendingEffects(new Query(Criteria.where("id").is(event.getTargetId()).and(PENDING_EFFECTS).exists(true)),
+            TemplateDraft.class);
+        draftRepository.deleteById(event.getTargetId());
+      }
+      case DELETE_JOURNAL -> trackedTemplateRepository.deleteById(event.getTargetId());
+      //Only applied if this event is not among the recently applied ones
+      case INCREMENT_BRANCHES -> mongoTemplate.updateFirst(
+          new Query(Criteria.where("id").is(event.getTargetId()).and(APPLIED_BRANCH_EVENTS).ne(event.getId())),
+          new Update().inc("branches", 1)
+              .push(APPLIED_BRANCH_EVENTS).slice(-APPLIED_EVENTS_KEPT).each(event.getId()),
+          CompleteTemplate.class);
+    }
+  }
+
+  //Only written while the claim of this dispatcher is current, after its lease expired the event may be claimed again
+  private void saveRetry(OutboxEvent event, LocalDateTime claimedLeaseExpiry) {
+    Query claimed = new Query(Criteria.where("id").is(event.getId())
+        .and(STATUS).is(OutboxEventStatus.PROCESSING)
+        .and(LEASE_EXPIRY).is(claimedLeaseExpiry));
+    Update retry = new Update()
+        .set(STATUS, event.getStatus())
+        .set("attempts", event.getAttempts())
+        .set("lastError", event.getLastError())
+        .set("nextAttemptTime", event.getNextAttemptTime())
+        .unset(LEASE_EXPIRY);
+    if (mongoTemplate.updateFirst(claimed, retry, OutboxEvent.class).getMatchedCount() == 0) {
+      log.warn("Lease on outbox event {} expired before its retry was recorded", event.getId());
+    }
+  }
+
+  private void scheduleRetry(OutboxEvent event, RuntimeException cause) {
+    int attempts = event.getAttempts() + 1;
+    event.setAttempts(attempts);
+    event.setLastError(cause.getMessage());
+    event.setLeaseExpiry(null);
+
+    if (attempts >= maxAttempts) {
+      log.error("Outbox event {} of type {} exceeded {} attempts", event.getId(), event.getType(), maxAttempts);
+      event.setStatus(OutboxEventStatus.FAILED);
+    } else {
+      event.setStatus(OutboxEventStatus.PENDING);
+      event.setNextAttemptTime(LocalDateTime.now().plus(retryBackoff.multipliedBy(1L << (attempts - 1))));
+    }
+  }
+
+}
@@ -0,0 +1,30 @@
+package com.test.outbox.service;
+
+import com.test.utils.TaskEngine;
+import com.test.utils.TaskType;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Triggers the {@link OutboxDispatcher} for side effects which must happen after a write. Callers store the effects
+ * as {@link com.test.outbox.models.PendingEffect}s on the document they write, so the write and its effects are
+ * persisted together without a transaction. The dispatcher moves them into the outbox and processes them.
+ */
+@Slf4j
+@Service
+@AllArgsConstructor
+public class OutboxService {
+
+  private final OutboxDispatcher outboxDispatcher;
+  private final TaskEngine taskEngine;
+
+  /**
+   * Dispatches right away instead of waiting for the next scheduled run.
+   */
+  public void dispatchPendingEffects() {
+    log.debug("Dispatching pending effects");
+    taskEngine.execute(TaskType.OUTBOX_DISPATCH, outboxDispatcher::dispatch);
+  }
+
+}
@@ -1,6 +1,7 @@
 package com.test.security.configs;
 
 import com.test.security.jwt.JwtFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -47,6 +48,9 @@ public class SecurityConfiguration {
     return http.cors(Customizer.withDefaults()).csrf(AbstractHttpConfigurer::disable)
         .exceptionHandling(x -> x.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
         .sessionManagement(x -> x.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+        //Streamed responses are completed in an async dispatch. The request was authorized on its initial dispatch
+        //and the stateless context is not carried over, as the jwt filter does not run again
+        .authorizeHttpRequests(x -> x.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll())
         .authorizeHttpRequests(x -> x.requestMatchers(uriConfigurationProperties.getPublicEndpoints()).permitAll())
         .authorizeHttpRequests(x -> x.requestMatchers(HttpMethod.GET, uriConfigurationProperties.getProtectedGetEndpoints()).authenticated())
         .authorizeHttpRequests(x -> x.requestMatchers(HttpMethod.GET, "/**").permitAll())
@@ -3,6 +3,7 @@ package com.test.security.jwt;
 import com.test.security.configs.UriConfigurationProperties;
 import com.test.security.exceptions.JwtAuthenticationException;
 import com.test.security.users.service.impl.UserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -25,13 +26,15 @@ public class JwtFilter extends OncePerRequestFilter {
   private final UserDetailsServiceImpl userDetailsService;
   private final HandlerExceptionResolver exceptionResolver;
   private final UriConfigurationProperties uriConfigurationProperties;
+  private final VerifiedTokenCache verifiedTokenCache;
 
   public JwtFilter(UserDetailsServiceImpl userDetailsService,
       @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver,
-      UriConfigurationProperties uriConfigurationProperties) {
+      UriConfigurationProperties uriConfigurationProperties, VerifiedTokenCache verifiedTokenCache) {
     this.userDetailsService = userDetailsService;
     this.exceptionResolver = exceptionResolver;
     this.uriConfigurationProperties = uriConfigurationProperties;
+    this.verifiedTokenCache = verifiedTokenCache;
   }
 
   @SuppressWarnings(value = "all")
@@ -84,13 +87,14 @@ public class JwtFilter extends OncePerRequestFilter {
       return false;
     }
 
+    Claims claims;
     try {
-      JwtUtil.validateToken(token);
+      claims = verifiedTokenCache.verify(token);
     } catch (JwtAuthenticationException e) {
       log.warn("Authentication failed for token: {}", token);
       return false;
     }
-    userDetailsService.authenticateUser(JwtUtil.extractUsername(token), request);
+    userDetailsService.authenticateUser(claims.getSubject(), request);
     return true;
   }
 
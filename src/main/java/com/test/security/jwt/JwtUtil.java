@@ -4,6 +4,7 @@ import com.test.security.exceptions.JwtAuthenticationException;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import java.util.Date;
@@ -21,6 +22,7 @@ public class JwtUtil {
   private static final String REFRESH_TOKEN_PROVIDER_ID = "Diploma";
   private static final long TOKEN_DURATION = 86400000; //1 day
   private static final long REFRESH_TOKEN_DURATION = 2592000000L; //30 days
+  private static final JwtParser PARSER = Jwts.parserBuilder().setSigningKey(SECRET.getBytes()).build();
 
   public static String generateToken(String username) {
     return Jwts.builder().setSubject(username)
@@ -39,13 +41,7 @@ public class JwtUtil {
   }
 
   public static String extractUsername(String token) {
-    String username = Jwts.parserBuilder()
-        .setSigningKey(SECRET.getBytes())
-        .build()
-        .parseClaimsJws(token)
-        .getBody()
-        .getSubject();
-    return username;
+    return parseClaims(token).getSubject();
   }
 
   public static String getLoggedInUser() {
@@ -57,8 +53,12 @@ public class JwtUtil {
   }
 
   public static void validateToken(String token) {
+    parseClaims(token);
+  }
+
+  public static Claims parseClaims(String token) {
     try {
-      Jwts.parserBuilder().setSigningKey(SECRET.getBytes()).build().parseClaimsJws(token);
+      return PARSER.parseClaimsJws(token).getBody();
     } catch (RuntimeException e) {
       throw new JwtAuthenticationException(e.getMessage());
     }
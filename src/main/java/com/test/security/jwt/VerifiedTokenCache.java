@@ -0,0 +1,65 @@
+package com.test.security.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import java.time.Duration;
+import java.util.Objects;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the claims of tokens whose signature was already verified, so a token is parsed once per lifetime
+ * instead of on every request. Entries expire together with the token, or after the configured maximum
+ * time, whichever comes first. Invalid tokens are never cached.
+ */
+@Component
+public class VerifiedTokenCache {
+
+  private final Cache<String, Claims> verifiedTokens;
+
+  public VerifiedTokenCache(@Value("${security.token-cache.maximum-size}") long maximumSize,
+                            @Value("${security.token-cache.maximum-ttl}") Duration maximumTtl) {
+    this.verifiedTokens = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfter(new TokenExpiry(maximumTtl))
+        .build();
+  }
+
+  /**
+   * @throws com.test.security.exceptions.JwtAuthenticationException if the token is not valid
+   */
+  public Claims verify(String token) {
+    return verifiedTokens.get(token, JwtUtil::parseClaims);
+  }
+
+  private static class TokenExpiry implements Expiry<String, Claims> {
+
+    private final long maximumTtlNanos;
+
+    private TokenExpiry(Duration maximumTtl) {
+      this.maximumTtlNanos = maximumTtl.toNanos();
+    }
+
+    @Override
+    public long expireAfterCreate(String token, Claims claims, long currentTime) {
+      if (Objects.isNull(claims.getExpiration())) {
+        return maximumTtlNanos;
+      }
+      long remainingNanos = Duration.ofMillis(claims.getExpiration().getTime() - System.currentTimeMillis()).toNanos();
+      return Math.max(0, Math.min(remainingNanos, maximumTtlNanos));
+    }
+
+    @Override
+    public long expireAfterUpdate(String token, Claims claims, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+
+    @Override
+    public long expireAfterRead(String token, Claims claims, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
+
+}
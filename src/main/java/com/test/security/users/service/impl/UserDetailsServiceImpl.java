@@ -1,8 +1,13 @@
 package com.test.security.users.service.impl;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.test.security.users.repository.UserDetailsRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import jakarta.servlet.http.HttpServletRequest;
-import lombok.AllArgsConstructor;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -15,12 +20,26 @@ import org.springframework.stereotype.Component;
 import java.util.Objects;
 
 @Component
-@AllArgsConstructor
 public class UserDetailsServiceImpl implements UserDetailsService {
 
   private static final String UNABLE_TO_FIND_USER = "Unable to find user %s";
+  private static final String CACHE_NAME = "userDetails";
 
   private final UserDetailsRepository userDetailsRepository;
+  //Only used for request authentication. Logins always read the stored credentials
+  private final Cache<String, UserDetails> authenticatedUsers;
+
+  public UserDetailsServiceImpl(UserDetailsRepository userDetailsRepository, MeterRegistry meterRegistry,
+      @Value("${security.user-details-cache.maximum-size}") long maximumSize,
+      @Value("${security.user-details-cache.ttl}") Duration ttl) {
+    this.userDetailsRepository = userDetailsRepository;
+    this.authenticatedUsers = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(ttl)
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, authenticatedUsers, CACHE_NAME);
+  }
 
   @Override
   public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
@@ -29,7 +48,7 @@ public class UserDetailsServiceImpl implements UserDetailsService {
   }
 
   public void authenticateUser(String username, HttpServletRequest request) {
-    UserDetails userDetails = loadUserByUsername(username);
+    UserDetails userDetails = authenticatedUsers.get(username, this::loadUserByUsername);
     UsernamePasswordAuthenticationToken authentication =
         new UsernamePasswordAuthenticationToken(userDetails, null,
             Objects.requireNonNull(userDetails).getAuthorities());
@@ -37,4 +56,8 @@ public class UserDetailsServiceImpl implements UserDetailsService {
     SecurityContext context = SecurityContextHolder.getContext();
     context.setAuthentication(authentication);
   }
+
+  public void evictUser(String username) {
+    authenticatedUsers.invalidate(username);
+  }
 }
@@ -42,17 +42,20 @@ public class UserLoginService implements IUserLoginService {
   private final AuthenticationManager authenticationManager;
   private final PasswordEncoder passwordEncoder;
   private final TemplateUserMapper userMapper;
+  private final UserDetailsServiceImpl userDetailsService;
 
   public UserLoginService(TemplateUserService templateUserService,
       UserDetailsRepository userDetailsRepository,
       AuthenticationManager authenticationManager,
       PasswordEncoder passwordEncoder,
-      TemplateUserMapper userMapper) {
+      TemplateUserMapper userMapper,
+      UserDetailsServiceImpl userDetailsService) {
     this.templateUserService = templateUserService;
     this.userDetailsRepository = userDetailsRepository;
     this.authenticationManager = authenticationManager;
     this.passwordEncoder = passwordEncoder;
     this.userMapper = userMapper;
+    this.userDetailsService = userDetailsService;
   }
 
   @Override
@@ -119,6 +122,7 @@ public class UserLoginService implements IUserLoginService {
       UserRole adminRole = new UserRole().of(ADMIN);
       if (userDetailsEntity.getAuthorities().add(adminRole)) {
         userDetailsRepository.save(userDetailsEntity);
+        userDetailsService.evictUser(username);
       }
     }
   }
@@ -6,6 +6,7 @@ import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -15,6 +16,8 @@ import java.util.List;
 @RequestMapping("/v1/categories")
 public class CategorizationController {
 
+  private static final String CATEGORIES_ETAG = "\"categories-%s\"";
+
   private final CategorizationService categorizationService;
 
   @PutMapping("/{categoryName}")
@@ -23,7 +26,11 @@ public class CategorizationController {
   }
 
   @GetMapping
-  public List<Category> getAllCategories() {
+  public List<Category> getAllCategories(WebRequest webRequest) {
+    //Sets the ETag header and answers with 304 when the client already has the current categories
+    if (webRequest.checkNotModified(String.format(CATEGORIES_ETAG, categorizationService.getCategoriesVersion()))) {
+      return null;
+    }
     return categorizationService.getCategories();
   }
 
@@ -1,20 +1,30 @@
 package com.test.template.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.test.template.models.CursorPage;
 import com.test.template.models.complete.ChangeAccessRequest;
 import com.test.template.models.complete.CompleteTemplate;
 import com.test.template.models.complete.CompleteTemplateFilters;
 import com.test.template.models.complete.CreateCompleteTemplateRequest;
 import com.test.template.models.draft.TemplateDraft;
+import com.test.template.models.facets.TemplateFacets;
+import com.test.template.models.summary.TemplateSummary;
 import com.test.template.service.CompleteTemplateService;
+import com.test.utils.NdjsonWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -24,14 +34,21 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @AllArgsConstructor
 @RequestMapping("/v1")
 public class CompleteTemplateController {
 
+  //Weak, the view and approval counters in the body change without changing the modification time
+  private static final String TEMPLATE_ETAG = "W/\"%x\"";
+  private static final String TAGS_ETAG = "W/\"%x-tags\"";
+
   private final CompleteTemplateService templateService;
   private final ObjectMapper objectMapper;
+  private final NdjsonWriter ndjsonWriter;
 
   @Operation(description = "Converts draft to completed template")
   @PostMapping("/templates/drafts/{templateDraftId}/complete")
@@ -67,10 +84,22 @@ public class CompleteTemplateController {
     templateService.updateSharedWith(templateId, sharedWith);
   }
 
-  @Operation(description = "Get complete template by id")
+  @Operation(description = "Get complete template by id, answers with 304 if the template has not been modified")
   @GetMapping("/templates/complete/{templateId}")
-  public CompleteTemplate getTemplateById(@NotBlank @PathVariable final String templateId) {
-    return templateService.getTemplateById(templateId);
+  public CompleteTemplate getTemplateById(@NotBlank @PathVariable final String templateId,
+                                          final WebRequest webRequest) {
+    //Only a conditional request can be answered without loading the whole template
+    if (hasConditionalHeaders(webRequest)) {
+      CompleteTemplate templateVersion = templateService.getTemplateVersion(templateId);
+      if (isNotModified(templateVersion, TEMPLATE_ETAG, webRequest)) {
+        templateService.registerView(templateId);
+        return null;
+      }
+    }
+    CompleteTemplate template = templateService.getTemplateById(templateId);
+    //Sets the validators of the returned template for the next conditional request
+    isNotModified(template, TEMPLATE_ETAG, webRequest);
+    return template;
   }
 
   @Operation(description = "Get page of most recent templates")
@@ -80,6 +109,26 @@ public class CompleteTemplateController {
     return templateService.getPublicTemplatesPage(page, elementsPerPage);
   }
 
+  @Operation(description = "Stream all public templates, most recent first, as newline delimited JSON")
+  @GetMapping(value = "/templates/complete/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> streamPublicTemplates() {
+    return ndjsonWriter.toResponse(templateService.streamPublicTemplates());
+  }
+
+  @Operation(description = "Get page of summaries of the most recent templates")
+  @GetMapping("/templates/complete/summaries")
+  public Page<TemplateSummary> getTemplateSummaryPage(@RequestParam(required = false, defaultValue = "0") final int page,
+                                                      @RequestParam(required = false, defaultValue = "0") final int elementsPerPage) {
+    return templateService.getPublicTemplateSummariesPage(page, elementsPerPage);
+  }
+
+  @Operation(description = "Get most recent templates after the passed in cursor")
+  @GetMapping("/templates/complete/cursor")
+  public CursorPage<CompleteTemplate> getTemplatesAfterCursor(@RequestParam(required = false) final String cursor,
+                                                              @RequestParam(required = false, defaultValue = "0") final int limit) {
+    return templateService.getPublicTemplatesAfter(cursor, limit);
+  }
+
   @Operation(description = "Get templates via passed in filters")
   @GetMapping("/templates/complete/filtered")
   public Page<CompleteTemplate> getTemplatesFiltered(@RequestParam final String filters) throws Exception {
@@ -87,6 +136,32 @@ public class CompleteTemplateController {
     return templateService.getPublicTemplatesFiltered(mappedFilters);
   }
 
+  @Operation(description = "Get templates accessible to the logged in user via passed in filters")
+  @GetMapping("/templates/complete/visible")
+  public Page<CompleteTemplate> getVisibleTemplates(@RequestParam(required = false) final String filters) throws Exception {
+    return templateService.getVisibleTemplatesFiltered(mapFilters(filters));
+  }
+
+  @Operation(description = "Get category, tag, approval and completion time counts of public templates matching the filters")
+  @GetMapping("/templates/complete/facets")
+  public TemplateFacets getTemplateFacets(@RequestParam(required = false) final String filters) throws Exception {
+    return templateService.getPublicTemplateFacets(mapFilters(filters));
+  }
+
+  @Operation(description = "Get category, tag, approval and completion time counts of templates accessible to the logged in user")
+  @GetMapping("/templates/complete/visible/facets")
+  public TemplateFacets getVisibleTemplateFacets(@RequestParam(required = false) final String filters) throws Exception {
+    return templateService.getVisibleTemplateFacets(mapFilters(filters));
+  }
+
+  @Operation(description = "Full text search over template titles, content and step titles ordered by relevance")
+  @GetMapping("/templates/complete/search")
+  public Page<CompleteTemplate> searchTemplates(@NotBlank @RequestParam final String query,
+                                                @RequestParam(required = false, defaultValue = "0") final int page,
+                                                @RequestParam(required = false, defaultValue = "0") final int elementsPerPage) {
+    return templateService.searchPublicTemplates(query, page, elementsPerPage);
+  }
+
   @Operation(description = "Get all complete templates from user")
   @GetMapping("/users/{username}/templates/complete")
   public List<CompleteTemplate> getTemplatesCreatedByUser(@NotBlank @PathVariable final String username,
@@ -95,16 +170,34 @@ public class CompleteTemplateController {
     return templateService.getTemplatesFromCreator(username, page, elementsPerPage);
   }
 
+  @Operation(description = "Stream complete templates from user as newline delimited JSON, non public ones only to the creator")
+  @GetMapping(value = "/users/{username}/templates/complete/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> streamTemplatesCreatedByUser(@NotBlank @PathVariable final String username) {
+    return ndjsonWriter.toResponse(templateService.streamTemplatesFromCreator(username));
+  }
+
+  @Operation(description = "Get summaries of all complete templates from user")
+  @GetMapping("/users/{username}/templates/complete/summaries")
+  public List<TemplateSummary> getTemplateSummariesCreatedByUser(@NotBlank @PathVariable final String username,
+                                                                 @RequestParam(required = false, defaultValue = "0") final int page,
+                                                                 @RequestParam(required = false, defaultValue = "0") final int elementsPerPage) {
+    return templateService.getTemplateSummariesFromCreator(username, page, elementsPerPage);
+  }
+
   @Operation(description = "Get branch availability for template")
   @GetMapping("/templates/complete/{templateId}/branch")
   public boolean checkIfTemplateCanBeBranched(@PathVariable @NotBlank String templateId) {
     return templateService.checkBranchAvailability(templateId);
   }
 
-  @Operation(description = "Get tags belonging to template")
+  @Operation(description = "Get tags belonging to template, answers with 304 if the template has not been modified")
   @GetMapping("/templates/complete/{templateId}/tags")
-  public Set<String> getAllTagsForTemplate(@NotBlank @PathVariable String templateId) {
-    return getTemplateById(templateId).getTags();
+  public Set<String> getAllTagsForTemplate(@NotBlank @PathVariable String templateId, final WebRequest webRequest) {
+    CompleteTemplate templateVersion = templateService.getTemplateVersion(templateId);
+    if (isNotModified(templateVersion, TAGS_ETAG, webRequest)) {
+      return null;
+    }
+    return templateVersion.getTags();
   }
 
   @DeleteMapping("/templates/complete/{templateId}")
@@ -112,4 +205,27 @@ public class CompleteTemplateController {
     templateService.deleteTemplate(templateId);
   }
 
+  private boolean hasConditionalHeaders(final WebRequest webRequest) {
+    return Objects.nonNull(webRequest.getHeader(HttpHeaders.IF_NONE_MATCH))
+        || Objects.nonNull(webRequest.getHeader(HttpHeaders.IF_MODIFIED_SINCE));
+  }
+
+  //Sets the ETag and Last-Modified headers and checks them against the conditional headers of the request
+  private boolean isNotModified(final CompleteTemplate templateVersion, final String etagFormat,
+                                final WebRequest webRequest) {
+    //Templates created before modifications were tracked fall back to their creation time
+    LocalDateTime lastModified = Objects.nonNull(templateVersion.getLastModified())
+        ? templateVersion.getLastModified() : templateVersion.getCreateTime();
+    if (Objects.isNull(lastModified)) {
+      return false;
+    }
+    long lastModifiedMillis = lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    return webRequest.checkNotModified(String.format(etagFormat, lastModifiedMillis), lastModifiedMillis);
+  }
+
+  private CompleteTemplateFilters mapFilters(final String filters) throws Exception {
+    return Objects.isNull(filters) ? new CompleteTemplateFilters()
+        : objectMapper.readValue(filters, CompleteTemplateFilters.class);
+  }
+
 }
@@ -0,0 +1,52 @@
+package com.test.template.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.test.template.models.complete.CompleteTemplate;
+import com.test.template.models.complete.CompleteTemplateFilters;
+import com.test.template.service.ReactiveTemplateQueryService;
+import io.swagger.v3.oas.annotations.Operation;
+import jakarta.validation.constraints.NotBlank;
+import java.util.Objects;
+import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/**
+ * Read only template endpoints which release the request thread while waiting on the database.
+ * Responses match the ones of {@link CompleteTemplateController}.
+ */
+@RestController
+@AllArgsConstructor
+@RequestMapping("/v1/reactive")
+public class ReactiveTemplateController {
+
+  private final ReactiveTemplateQueryService reactiveTemplateQueryService;
+  private final ObjectMapper objectMapper;
+
+  @Operation(description = "Get page of the most recent public templates without blocking")
+  @GetMapping("/templates/complete")
+  public Mono<Page<CompleteTemplate>> getTemplatePage(@RequestParam(required = false, defaultValue = "0") final int page,
+                                                      @RequestParam(required = false, defaultValue = "0") final int elementsPerPage) {
+    return reactiveTemplateQueryService.getPublicTemplatesPage(page, elementsPerPage);
+  }
+
+  @Operation(description = "Get template by id without blocking")
+  @GetMapping("/templates/complete/{templateId}")
+  public Mono<CompleteTemplate> getTemplateById(@NotBlank @PathVariable final String templateId) {
+    return reactiveTemplateQueryService.getTemplateById(templateId);
+  }
+
+  @Operation(description = "Get page of filtered public templates without blocking")
+  @GetMapping("/templates/complete/filtered")
+  public Mono<Page<CompleteTemplate>> getTemplatesFiltered(@RequestParam(required = false) final String filters) throws Exception {
+    CompleteTemplateFilters mappedFilters = Objects.isNull(filters) ? new CompleteTemplateFilters()
+        : objectMapper.readValue(filters, CompleteTemplateFilters.class);
+    return reactiveTemplateQueryService.getPublicTemplatesFiltered(mappedFilters);
+  }
+
+}
@@ -3,6 +3,7 @@ package com.test.template.controller;
 import com.test.template.models.draft.PutTemplateDraftRequest;
 import com.test.template.models.draft.TemplateDraft;
 import com.test.template.models.draft.TemplateDraftRequest;
+import com.test.template.models.summary.DraftSummary;
 import com.test.template.service.TemplateDraftService;
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.validation.Valid;
@@ -56,6 +57,14 @@ public class TemplateDraftController {
     return draftService.getTemplateDraftsFromCreator(username, page, elementsPerPage);
   }
 
+  @Operation(description = "Get summaries of all drafts created by user")
+  @GetMapping("/users/{username}/templates/drafts/summaries")
+  public List<DraftSummary> getDraftSummariesByUser(@NotBlank @PathVariable final String username,
+      @RequestParam(required = false, defaultValue = "0") final int page,
+      @RequestParam(required = false, defaultValue = "0") final int elementsPerPage) {
+    return draftService.getDraftSummariesFromCreator(username, page, elementsPerPage);
+  }
+
   @Operation(description = "Delete draft for user")
   @DeleteMapping("/templates/drafts/{draftId}")
   public ResponseEntity<Boolean> deleteTemplateDraft(@NotBlank @PathVariable final String draftId) {
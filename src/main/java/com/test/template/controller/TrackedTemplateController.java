@@ -1,8 +1,10 @@
 package com.test.template.controller;
 
+import com.test.template.models.summary.JournalSummary;
 import com.test.template.models.tracked.TrackedTemplate;
 import com.test.template.models.tracked.UpdateTrackedTemplateRequest;
 import com.test.template.service.TrackedTemplateService;
+import com.test.utils.NdjsonWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
@@ -10,8 +12,10 @@ import java.util.List;
 import lombok.AllArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @AllArgsConstructor
@@ -21,6 +25,7 @@ public class TrackedTemplateController {
   private static final String PRESENT_JOURNAL_REDIRECT_URI = "/templates/journal/";
 
   private final TrackedTemplateService trackedTemplateService;
+  private final NdjsonWriter ndjsonWriter;
 
   @Operation(description = "Creates draft based on an existing completed template")
   @PostMapping("templates/complete/{templateId}/journal")
@@ -54,6 +59,18 @@ public class TrackedTemplateController {
     return trackedTemplateService.getJournalsForUser(username);
   }
 
+  @Operation(description = "Stream all journals belonging to a given user as newline delimited JSON")
+  @GetMapping(value = "users/{username}/templates/journal/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> streamTrackedTemplatesForUser(@NotBlank @PathVariable final String username) {
+    return ndjsonWriter.toResponse(trackedTemplateService.streamJournalsForUser(username));
+  }
+
+  @Operation(description = "Get summaries of all journals belonging to a given user")
+  @GetMapping("users/{username}/templates/journal/summaries")
+  public List<JournalSummary> getJournalSummariesForUser(@NotBlank @PathVariable final String username) {
+    return trackedTemplateService.getJournalSummariesForUser(username);
+  }
+
   @Operation(description = "Delete template journal belonging to user")
   @DeleteMapping("/users/{username}/templates/journal/{trackedTemplateId}")
   public boolean deleteTrackedTemplate(@NotBlank @PathVariable String username,
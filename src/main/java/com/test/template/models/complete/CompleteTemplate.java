@@ -1,20 +1,29 @@
 package com.test.template.models.complete;
 
+import com.test.outbox.models.PendingEffect;
+import com.test.outbox.models.PendingEffectHolder;
 import com.test.template.models.ParentDetails;
 import com.test.template.models.Requirement;
 import com.test.template.models.enums.AccessStatus;
 import com.test.template.models.enums.BranchPermission;
 import com.test.template.models.steps.TemplateStep;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.TextScore;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 
 @Data
@@ -22,7 +31,18 @@ import java.util.Set;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class CompleteTemplate {
+@CompoundIndexes({
+    @CompoundIndex(def = "{accessStatus: 1, createTime: -1, _id: -1}", name = "access_create_time_index"),
+    @CompoundIndex(def = "{creatorName: 1, accessStatus: 1}", name = "creator_access_index"),
+    @CompoundIndex(def = "{sharedWith: 1, accessStatus: 1}", name = "shared_with_access_index"),
+    @CompoundIndex(def = "{associatedGroup: 1, accessStatus: 1}", name = "group_access_index"),
+    @CompoundIndex(def = "{category: 1, tags: 1, createTime: -1}", name = "category_tags_index"),
+    @CompoundIndex(def = "{accessStatus: 1, 'parentDetails.parentId': 1, createTime: -1}", name = "original_index"),
+    @CompoundIndex(def = "{accessStatus: 1, templateApprovalPercent: -1}", name = "approval_percent_index"),
+    @CompoundIndex(def = "{accessStatus: 1, templateMedianDurationSeconds: 1}", name = "median_duration_index"),
+    @CompoundIndex(def = "{accessStatus: 1, completionRate: -1}", name = "completion_rate_index")
+})
+public class CompleteTemplate implements PendingEffectHolder {
 
   @Id
   private String id;
@@ -48,13 +68,32 @@ public class CompleteTemplate {
   private List<TemplateStep> steps;
   private ParentDetails parentDetails;
   private LocalDateTime createTime;
+  //Changed by content, access and approval updates, views and branches are not tracked. Used for conditional requests
+  private LocalDateTime lastModified;
+  //Derived from the counters and steps. Persisted so they can be indexed and filtered on
+  private int completionRate;
+  private int templateApprovalPercent;
+  private long templateMedianDurationSeconds;
+  //Recent outbox events which incremented the branches, so a replayed event is not counted twice
+  @JsonIgnore
+  private List<String> appliedBranchEvents;
+  //Removed once the effects are moved into the outbox
+  @JsonIgnore
+  @Indexed(sparse = true)
+  private List<PendingEffect> pendingEffects;
+  //Only populated by full text searches
+  @TextScore
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private Float score;
 
-  public int getCompletionRate() {
-    return (int) Math.ceil((double) completedJournals / totalJournals * 100);
-  }
-
-  public int getTemplateApprovalPercent() {
-    return (int) Math.ceil((double) approvals / totalEngagements * 100);
+  /**
+   * Recalculates the persisted metrics which are derived from the counters and steps.
+   * Needs to be called whenever either are changed outside the update pipelines in the repository.
+   */
+  public void refreshDerivedMetrics() {
+    completionRate = calculatePercent(completedJournals, totalJournals);
+    templateApprovalPercent = calculatePercent(approvals, totalEngagements);
+    templateMedianDurationSeconds = Objects.isNull(steps) ? 0 : getTemplateMedianDuration().getSeconds();
   }
 
   public Duration getTemplateMinDuration() {
@@ -69,4 +108,8 @@ public class CompleteTemplate {
     return Duration.ZERO.plus(getTemplateMinDuration()).plus(getTemplateMaxDuration()).dividedBy(2);
   }
 
+  private static int calculatePercent(int part, int total) {
+    return total > 0 ? (int) Math.ceil((double) part / total * 100) : 0;
+  }
+
 }
@@ -7,6 +7,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Sort;
 
 @Data
 @Builder
@@ -15,6 +16,7 @@ import lombok.NoArgsConstructor;
 public class CompleteTemplateFilters {
 
   private String title;
+  private String search;
   private String categoryName;
   private Set<String> tags;
   private LocalDate minDate;
@@ -23,5 +25,9 @@ public class CompleteTemplateFilters {
   private Integer minApprovalPercent;
   private Duration maxCompletionTime;
   private Integer minCompletionRate;
+  private Integer page;
+  private Integer elementsPerPage;
+  private String sortBy;
+  private Sort.Direction sortDirection;
 
 }
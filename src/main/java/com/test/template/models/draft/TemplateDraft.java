@@ -1,6 +1,9 @@
 package com.test.template.models.draft;
 
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.test.outbox.models.PendingEffect;
+import com.test.outbox.models.PendingEffectHolder;
 import com.test.template.models.Requirement;
 import com.test.template.models.steps.TemplateStep;
 import lombok.AllArgsConstructor;
@@ -8,6 +11,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -19,7 +23,7 @@ import java.util.Set;
 @Document
 @NoArgsConstructor
 @AllArgsConstructor
-public class TemplateDraft {
+public class TemplateDraft implements PendingEffectHolder {
 
     @Id
     private String id;
@@ -32,4 +36,8 @@ public class TemplateDraft {
     private List<TemplateStep> steps;
     private LocalDateTime creationTime;
     private LocalDateTime lastUpdateTime;
+    //Removed once the effects are moved into the outbox
+    @JsonIgnore
+    @Indexed(sparse = true)
+    private List<PendingEffect> pendingEffects;
 }
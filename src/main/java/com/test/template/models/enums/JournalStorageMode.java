@@ -0,0 +1,8 @@
+package com.test.template.models.enums;
+
+public enum JournalStorageMode {
+
+    EMBEDDED, //Journal keeps a full copy of the original template
+    REFERENCE //Journal keeps a stub and a reference to a shared template snapshot
+
+}
@@ -0,0 +1,20 @@
+package com.test.template.models.facets;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Amount of templates with a value in the range [from, to). The last bucket of a histogram has no upper bound.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetBucket {
+
+    private long from;
+    private Long to;
+    private long count;
+}
@@ -0,0 +1,25 @@
+package com.test.template.models.facets;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Counts over every template matching a set of filters, independent of the requested page.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TemplateFacets {
+
+    private long total;
+    private List<FacetCount> categories;
+    private List<FacetCount> tags;
+    private List<FacetBucket> approvalPercent;
+    //Buckets of the median completion time in seconds
+    private List<FacetBucket> completionTime;
+}
@@ -9,7 +9,7 @@ import org.apache.commons.lang3.StringUtils;
 import java.time.Duration;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class TemplateStep {
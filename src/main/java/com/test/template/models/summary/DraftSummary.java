@@ -0,0 +1,27 @@
+package com.test.template.models.summary;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Card sized view of a {@link com.test.template.models.draft.TemplateDraft} used by list endpoints.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DraftSummary {
+
+    private String id;
+    private String creatorName;
+    private String parentTemplateId;
+    private String title;
+    private String imageUrl;
+    private int stepCount;
+    private LocalDateTime creationTime;
+    private LocalDateTime lastUpdateTime;
+}
@@ -0,0 +1,30 @@
+package com.test.template.models.summary;
+
+import com.test.template.models.enums.ProgressionStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Card sized view of a {@link com.test.template.models.tracked.TrackedTemplate} used by list endpoints.
+ * Title and image fall back to the ones of the original template when the journal has not changed them.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JournalSummary {
+
+    private String id;
+    private String ownerName;
+    private String templateId;
+    private String title;
+    private String imageUrl;
+    private ProgressionStatus currentStatus;
+    private int stepCount;
+    private LocalDateTime creationTime;
+    private LocalDateTime updateTime;
+}
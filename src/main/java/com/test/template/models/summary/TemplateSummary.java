@@ -0,0 +1,35 @@
+package com.test.template.models.summary;
+
+import com.test.template.models.enums.AccessStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Card sized view of a {@link com.test.template.models.complete.CompleteTemplate} used by list endpoints.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TemplateSummary {
+
+    private String id;
+    private String creatorName;
+    private String title;
+    private String imageUrl;
+    private String category;
+    private Set<String> tags;
+    private AccessStatus accessStatus;
+    private int views;
+    private int branches;
+    private int approvals;
+    private int templateApprovalPercent;
+    private int completionRate;
+    private int stepCount;
+    private LocalDateTime createTime;
+}
@@ -0,0 +1,75 @@
+package com.test.template.models.tracked;
+
+import com.test.template.models.enums.ProgressionStatus;
+import com.test.template.models.steps.TrackedStep;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Number of required (non-optional) journal steps per {@link ProgressionStatus}. Persisted with the journal
+ * and adjusted by step status changes, so the aggregate status does not need to recount every step.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StepStatusCounts {
+
+    private int requiredSteps;
+    private int notStarted;
+    private int inProgress;
+    private int completed;
+    private int abandoned;
+
+    public static StepStatusCounts of(final List<TrackedStep> steps) {
+        StepStatusCounts counts = new StepStatusCounts();
+        for (TrackedStep step : steps) {
+            if (!Boolean.TRUE.equals(step.getOptional())) {
+                counts.requiredSteps++;
+                counts.increment(step.getProgressionStatus());
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Moves a required step from one status to another.
+     */
+    public void move(final ProgressionStatus from, final ProgressionStatus to) {
+        add(from, -1);
+        add(to, 1);
+    }
+
+    public int count(final ProgressionStatus status) {
+        return switch (status) {
+            case NOT_STARTED -> notStarted;
+            case IN_PROGRESS -> inProgress;
+            case COMPLETED -> completed;
+            case ABANDONED -> abandoned;
+            //Template level statuses are never applied to steps
+            case PARTIALLY_COMPLETED, ON_HOLD -> 0;
+        };
+    }
+
+    private void increment(final ProgressionStatus status) {
+        add(status, 1);
+    }
+
+    private void add(final ProgressionStatus status, final int delta) {
+        if (Objects.isNull(status)) {
+            return;
+        }
+        switch (status) {
+            case NOT_STARTED -> notStarted += delta;
+            case IN_PROGRESS -> inProgress += delta;
+            case COMPLETED -> completed += delta;
+            case ABANDONED -> abandoned += delta;
+            case PARTIALLY_COMPLETED, ON_HOLD -> {
+            }
+        }
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.test.template.models.tracked;
+
+import com.test.template.models.complete.SimpleCompleteTemplate;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable copy of a template shared by every journal tracking the same template content.
+ * The id is a hash of the content, so a snapshot is never updated after it is inserted.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document("template_snapshots")
+public class TemplateSnapshot {
+
+    @Id
+    private String id;
+    private String templateId;
+    private SimpleCompleteTemplate template;
+    private LocalDateTime createTime;
+}
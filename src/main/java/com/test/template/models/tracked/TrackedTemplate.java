@@ -32,16 +32,23 @@ public class TrackedTemplate {
   @Id
   private String id;
   private String ownerName;
+  //Only id, title, image, creator and parent are stored when the journal references a snapshot
   private SimpleCompleteTemplate originalTemplate;
+  //Content hash of the shared TemplateSnapshot, missing on journals with an embedded original template
+  private String snapshotId;
   private String newTitle;
   private String markedUpContent;
   private String markedUpImage;
   private List<TrackedStep> trackedSteps = new ArrayList<>();
   private Set<Requirement> trackedRequirements = new HashSet<>();
   private ProgressionStatus currentStatus;
+  //Missing on journals created before the counts were persisted
+  private StepStatusCounts stepStatusCounts;
   @DateTimeFormat(iso = DATE_TIME)
   private LocalDateTime creationTime;
   @DateTimeFormat(iso = DATE_TIME)
   private LocalDateTime updateTime;
+  //Incremented by every journal update, used to detect concurrent modifications
+  private Long version;
 
 }
@@ -8,27 +8,31 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.data.mongodb.repository.Update;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface CompleteTemplateRepository extends MongoRepository<CompleteTemplate, String> {
 
     @Query("{_id: ObjectId(?0)}")
-    @Update("{$inc: {views: 1}}")
-    void incrementTemplateViews(String templateId);
+    @Update("{$set: {sharedWith:  ?1, lastModified: ?2}}")
+    void updateSharedWith(String templateId, List<String> sharedWith, LocalDateTime lastModified);
 
-    @Query("{_id: ObjectId(?0)}")
-    @Update("{$inc: {approvals: ?1, totalEngagements:  ?2}}")
-    void incrementApprovalsAndEngagements(String templateId, int approvalInc, int engagementInc);
-
-    @Query("{_id: ObjectId(?0)}")
-    @Update("{$inc: {branches:  1}}")
-    void incrementBranches(String templateId);
+    //Only the fields needed for access checks, tags and conditional requests
+    @Query(value = "{_id: ObjectId(?0)}",
+        fields = "{accessStatus: 1, creatorName: 1, sharedWith: 1, associatedGroup: 1, tags: 1, createTime: 1, lastModified: 1}")
+    Optional<CompleteTemplate> findVersionById(String templateId);
 
-    @Query("{_id: ObjectId(?0)}")
-    @Update("{$set: {sharedWith:  ?1}}")
-    void updateSharedWith(String templateId, List<String> sharedWith);
+    //Branched templates only need the access status of their parent
+    @Query(value = "{_id: ObjectId(?0)}", fields = "{accessStatus: 1}")
+    Optional<CompleteTemplate> findAccessStatusById(String templateId);
 
     List<CompleteTemplate> getCompleteTemplatesByCreatorName(String creatorName);
+    //Cursor backed streams, need to be closed by the caller
+    Stream<CompleteTemplate> streamCompleteTemplatesByCreatorName(String creatorName);
+    Stream<CompleteTemplate> streamCompleteTemplatesByCreatorNameAndAccessStatus(String creatorName, AccessStatus accessStatus);
+    Stream<CompleteTemplate> streamCompleteTemplatesByAccessStatusOrderByCreateTimeDesc(AccessStatus accessStatus);
     List<CompleteTemplate> getCompleteTemplatesByCreatorNameAndAccessStatus(String creatorName, AccessStatus accessStatus, Pageable pageable);
 
     @Query("{accessStatus: ?0}")
@@ -0,0 +1,10 @@
+package com.test.template.repository;
+
+import com.test.template.models.tracked.TemplateSnapshot;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TemplateSnapshotRepository extends MongoRepository<TemplateSnapshot, String> {
+
+}
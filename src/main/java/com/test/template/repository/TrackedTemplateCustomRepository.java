@@ -0,0 +1,22 @@
+package com.test.template.repository;
+
+import com.test.template.models.tracked.TrackedTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Optional;
+
+public interface TrackedTemplateCustomRepository {
+
+    /**
+     * Loads a journal without the embedded copy of its original template, which is never changed by updates.
+     */
+    Optional<TrackedTemplate> findForUpdate(String trackedTemplateId);
+
+    /**
+     * Applies the update only if the journal is still at the expected version and increments the version.
+     *
+     * @return false if the journal was changed since it was loaded
+     */
+    boolean updateIfVersionMatches(String trackedTemplateId, Long expectedVersion, Update update);
+
+}
@@ -0,0 +1,31 @@
+package com.test.template.repository;
+
+import com.test.template.models.tracked.TrackedTemplate;
+import lombok.AllArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Optional;
+
+@AllArgsConstructor
+public class TrackedTemplateCustomRepositoryImpl implements TrackedTemplateCustomRepository {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Optional<TrackedTemplate> findForUpdate(String trackedTemplateId) {
+        Query query = new Query(Criteria.where("id").is(trackedTemplateId));
+        query.fields().exclude("originalTemplate");
+        return Optional.ofNullable(mongoTemplate.findOne(query, TrackedTemplate.class));
+    }
+
+    @Override
+    public boolean updateIfVersionMatches(String trackedTemplateId, Long expectedVersion, Update update) {
+        //Journals created before versioning have no version field, which is matched by null
+        Query query = new Query(Criteria.where("id").is(trackedTemplateId).and("version").is(expectedVersion));
+        return mongoTemplate.updateFirst(query, update.inc("version", 1), TrackedTemplate.class).getMatchedCount() > 0;
+    }
+
+}
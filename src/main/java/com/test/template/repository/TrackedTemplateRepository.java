@@ -7,12 +7,17 @@ import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TrackedTemplateRepository extends MongoRepository<TrackedTemplate, String> {
+public interface TrackedTemplateRepository extends MongoRepository<TrackedTemplate, String>,
+        TrackedTemplateCustomRepository {
 
     List<TrackedTemplate> getTrackedTemplatesByOwnerName(String ownerName);
 
+    //Cursor backed stream, needs to be closed by the caller
+    Stream<TrackedTemplate> streamTrackedTemplatesByOwnerName(String ownerName);
+
     List<TrackedTemplate> getTrackedTemplateByOwnerName(String ownerName, Pageable pageable);
 
     Optional<TrackedTemplate> findByOwnerNameAndOriginalTemplateId(String ownerName, String templateId);
@@ -3,6 +3,7 @@ package com.test.template.service;
 import com.test.template.exceptions.TemplateException;
 import com.test.template.models.categorization.Category;
 import com.test.template.repository.CategoryRepository;
+import com.test.template.service.helpers.CategoryCatalog;
 import java.util.Arrays;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -24,15 +25,20 @@ public class CategorizationService {
   private final static String NO_CATEGORY_FOUND_ERROR_MESSAGE = "No category: %s exists";
 
   private final CategoryRepository categoryRepository;
+  private final CategoryCatalog categoryCatalog;
 
   public List<Category> getCategories() {
     log.info("Fetching all categories");
-    return categoryRepository.findAll();
+    return categoryCatalog.getCategories();
+  }
+
+  public String getCategoriesVersion() {
+    return categoryCatalog.getVersion();
   }
 
   public Category getCategoryById(String id) {
     log.info("Fetching category with id: {}", id);
-    return categoryRepository.findById(id).orElseThrow(
+    return categoryCatalog.findById(id).orElseThrow(
             () -> new TemplateException(String.format(NO_CATEGORY_FOUND_ERROR_MESSAGE, id), HttpStatus.NOT_FOUND));
   }
 
@@ -56,11 +62,13 @@ public class CategorizationService {
     log.info("Adding tags: {} for category {}", tagsList, category.getCategoryName());
 
     categoryRepository.save(category);
+    categoryCatalog.refresh();
   }
 
   public void deleteCategory(String categoryName) {
     log.info("Deleting category: {}", categoryName);
     categoryRepository.deleteCategoryByCategoryName(categoryName);
+    categoryCatalog.refresh();
   }
 
 }
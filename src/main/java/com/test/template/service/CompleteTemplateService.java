@@ -1,7 +1,11 @@
 package com.test.template.service;
 
+import com.test.outbox.models.OutboxEventType;
+import com.test.outbox.models.PendingEffect;
+import com.test.outbox.service.OutboxService;
 import com.test.security.jwt.JwtUtil;
 import com.test.template.exceptions.TemplateException;
+import com.test.template.models.CursorPage;
 import com.test.template.models.categorization.Category;
 import com.test.template.models.complete.ChangeAccessRequest;
 import com.test.template.models.complete.CompleteTemplate;
@@ -9,29 +13,36 @@ import com.test.template.models.complete.CompleteTemplateFilters;
 import com.test.template.models.complete.CreateCompleteTemplateRequest;
 import com.test.template.models.draft.TemplateDraft;
 import com.test.template.models.enums.AccessStatus;
-import com.test.template.repository.CategoryRepository;
+import com.test.template.models.facets.TemplateFacets;
+import com.test.template.models.summary.TemplateSummary;
 import com.test.template.repository.CompleteTemplateRepository;
 import com.test.template.repository.TemplateDraftRepository;
 import com.test.template.service.builders.TemplateBuilder;
+import com.test.template.service.helpers.CategoryCatalog;
 import com.test.template.service.helpers.TemplateAccessHelper;
+import com.test.template.service.helpers.TemplateCounterAggregator;
+import com.test.template.service.helpers.TemplateSearchCache;
 import com.test.template.validation.AccessValidator;
 import com.test.user.models.TemplateUser;
 import com.test.user.repository.TemplateUserRepository;
-import com.test.utils.ThreadExecutor;
+import com.test.user.service.impl.GroupMembershipIndex;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 import org.apache.commons.lang3.tuple.Pair;
+import org.bson.types.ObjectId;
 import org.springframework.data.domain.*;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.test.template.validation.ValidationConstants.MIN_STEP_COUNT;
 
@@ -47,18 +58,27 @@ public class CompleteTemplateService {
   private static final String NO_DRAFT_FOUND_FOR_ID = "No template draft with id %s found";
   private static final String TAGS_NOT_APPLICABLE = "The following tags are not applicable to category %s: %s";
   private static final String TAG_SEPARATOR = ", ";
+  private static final int DEFAULT_PAGE_SIZE = 20;
 
   private final AccessValidator accessValidator;
   private final TemplateBuilder templateBuilder;
   private final TemplateAccessHelper templateAccessHelper;
   private final TemplateQueryService templateQueryService;
+  private final TemplateSummaryQueryService summaryQueryService;
+  private final TemplateCounterAggregator counterAggregator;
+  private final TemplateSearchCache searchCache;
   private final CompleteTemplateRepository templateRepository;
   private final TemplateDraftRepository draftRepository;
-  private final CategoryRepository categoryRepository;
+  private final CategoryCatalog categoryCatalog;
   private final TemplateUserRepository userRepository;
+  private final GroupMembershipIndex groupMembershipIndex;
+  private final OutboxService outboxService;
 
   public CompleteTemplate createTemplateFromDraft(final CreateCompleteTemplateRequest request,
                                                   final String draftId) {
+    //Checks of the request alone come first, so invalid requests are rejected before reading anything
+    accessValidator.validateStatuses(request.getAccessStatus(), request.getBranchPermission());
+
     TemplateDraft draft = draftRepository.findById(draftId).orElseThrow(() ->
             new TemplateException(String.format(NO_DRAFT_FOUND_FOR_ID, draftId), HttpStatus.BAD_REQUEST));
 
@@ -75,28 +95,28 @@ public class CompleteTemplateService {
         .map(String::toLowerCase)
         .collect(Collectors.toSet());
 
-    Category category = categoryRepository.findById(request.getCategoryId()).orElseThrow(
+    Category category = categoryCatalog.findById(request.getCategoryId()).orElseThrow(
             () -> new TemplateException(NO_CATEGORY_FOUND, HttpStatus.BAD_REQUEST));
     if (!category.getChildTags().containsAll(lowerCaseTags)) {
       throw new TemplateException(buildTagNotApplicableErrorMessage(category, lowerCaseTags), HttpStatus.BAD_REQUEST);
     }
 
-    accessValidator.validateStatuses(request.getAccessStatus(), request.getBranchPermission());
-    accessValidator.validateStatuses(request.getAccessStatus(), request.getBranchPermission());
+    //The category comes from the in memory catalog, the parent is the only other read and depends on the draft
     if (!StringUtils.isBlank(draft.getParentTemplateId())) {
-      templateRepository.findById(draft.getParentTemplateId()).ifPresent((parent) ->
+      templateRepository.findAccessStatusById(draft.getParentTemplateId()).ifPresent((parent) ->
               accessValidator.validateStatusInRelationToParent(request.getAccessStatus(), parent.getAccessStatus()));
     }
 
     CompleteTemplate template = templateBuilder.buildTemplateFromDraft(request, draft, category, lowerCaseTags);
+    //The id is assigned up front, so the effects targeting the template can be written together with it
+    template.setId(new ObjectId().toHexString());
+    template.setPendingEffects(List.of(
+        PendingEffect.of(OutboxEventType.DELETE_DRAFT, draftId),
+        PendingEffect.of(OutboxEventType.INCREMENT_BRANCHES, template.getId())));
     CompleteTemplate createdTemplate = templateRepository.insert(template);
     log.info("Promoting draft: {} to full template", draftId);
-
-    ThreadExecutor.executeTask(() -> {
-      draftRepository.deleteById(draftId);
-      log.info("Deleted promoted draft: {}", draftId);
-      templateRepository.incrementBranches(createdTemplate.getId());
-    });
+    searchCache.invalidateAll();
+    outboxService.dispatchPendingEffects();
 
     return createdTemplate;
   }
@@ -115,7 +135,9 @@ public class CompleteTemplateService {
     }
 
     accessValidator.validateStatuses(template.getAccessStatus(), template.getBranchPermission());
+    template.setLastModified(LocalDateTime.now());
     templateRepository.save(template);
+    searchCache.invalidateAll();
   }
 
   /**
@@ -152,10 +174,31 @@ public class CompleteTemplateService {
       throw new TemplateException(String.format("Unable to access template: %s", templateId), HttpStatus.FORBIDDEN);
     }
 
-    ThreadExecutor.executeTask(() -> templateRepository.incrementTemplateViews(templateId));
+    counterAggregator.incrementViews(templateId);
     return retrievedTemplate;
   }
 
+  /**
+   * Loads only the fields of a template needed for access checks and conditional requests.
+   * Does not count as a view.
+   */
+  public CompleteTemplate getTemplateVersion(final String templateId) {
+    CompleteTemplate templateVersion = templateRepository.findVersionById(templateId)
+            .orElseThrow(() -> new TemplateException(String.format(NO_TEMPLATES_FOUND_FOR_ID, templateId), HttpStatus.NOT_FOUND));
+
+    if (!templateAccessHelper.templateCanBeAccessed(templateVersion)) {
+      throw new TemplateException(String.format("Unable to access template: %s", templateId), HttpStatus.FORBIDDEN);
+    }
+    return templateVersion;
+  }
+
+  /**
+   * Counts a view of a template the caller already has an up to date copy of.
+   */
+  public void registerView(final String templateId) {
+    counterAggregator.incrementViews(templateId);
+  }
+
   public List<CompleteTemplate> getTemplatesFromCreator(final String username, int page, int elementsPerPage) {
     if (page == 0 && elementsPerPage == 0) {
       log.info("Fetching all templates created by user: {}", username);
@@ -165,24 +208,83 @@ public class CompleteTemplateService {
     return templateRepository.getCompleteTemplatesByCreatorNameAndAccessStatus(username, AccessStatus.PUBLIC, PageRequest.of(page, elementsPerPage));
   }
 
-  public Page<CompleteTemplate> getPublicTemplatesPage(final int page, final int elementsPerPage) {
-    Pageable pageable;
-    Sort sortOrder = Sort.by(Sort.Direction.DESC, "createTime");
+  /**
+   * Streams the templates of the creator straight from a database cursor. Only the creator receives their
+   * non public templates. The stream needs to be closed.
+   */
+  public Stream<CompleteTemplate> streamTemplatesFromCreator(final String username) {
+    if (username.equals(JwtUtil.getLoggedInUser())) {
+      log.info("Streaming all templates created by user: {}", username);
+      return templateRepository.streamCompleteTemplatesByCreatorName(username);
+    }
+    log.info("Streaming public templates created by user: {}", username);
+    return templateRepository.streamCompleteTemplatesByCreatorNameAndAccessStatus(username, AccessStatus.PUBLIC);
+  }
 
-    if (page == 0 || elementsPerPage == 0) {
-      pageable = PageRequest.of(0, Integer.MAX_VALUE, sortOrder);
-      //return templateRepository.getAllByAccessStatus(AccessStatus.PUBLIC, Pageable.unpaged(), Sort.by(Sort.Direction.DESC, "createTime"));
-    } else {
-      pageable = PageRequest.of(page, elementsPerPage, sortOrder);
+  public List<TemplateSummary> getTemplateSummariesFromCreator(final String username, int page, int elementsPerPage) {
+    if (page == 0 && elementsPerPage == 0) {
+      //Only the creator receives summaries of their non public templates
+      if (username.equals(JwtUtil.getLoggedInUser())) {
+        log.info("Fetching summaries of all templates created by user: {}", username);
+        return summaryQueryService.findTemplateSummariesByCreator(username, null, null);
+      }
+      log.info("Fetching summaries of public templates created by user: {}", username);
+      return summaryQueryService.findTemplateSummariesByCreator(username, AccessStatus.PUBLIC, null);
     }
+    log.info("Fetching {} template summaries from page {}", elementsPerPage, page);
+    return summaryQueryService.findTemplateSummariesByCreator(username, AccessStatus.PUBLIC,
+        PageRequest.of(page, elementsPerPage));
+  }
 
-    return templateRepository.getAllByAccessStatus(AccessStatus.PUBLIC, pageable);
+  public Page<CompleteTemplate> getPublicTemplatesPage(final int page, final int elementsPerPage) {
+    return templateRepository.getAllByAccessStatus(AccessStatus.PUBLIC, buildPublicPageable(page, elementsPerPage));
+  }
+
+  /**
+   * Streams every public template, most recent first, straight from a database cursor. The stream needs to be closed.
+   */
+  public Stream<CompleteTemplate> streamPublicTemplates() {
+    log.info("Streaming all public templates");
+    return templateRepository.streamCompleteTemplatesByAccessStatusOrderByCreateTimeDesc(AccessStatus.PUBLIC);
+  }
+
+  public Page<TemplateSummary> getPublicTemplateSummariesPage(final int page, final int elementsPerPage) {
+    return summaryQueryService.findPublicTemplateSummaries(buildPublicPageable(page, elementsPerPage));
+  }
+
+  public CursorPage<CompleteTemplate> getPublicTemplatesAfter(final String cursor, final int limit) {
+    log.info("Fetching {} public templates after cursor: {}", limit, cursor);
+    return templateQueryService.findPublicTemplatesAfter(cursor, limit);
   }
 
   public Page<CompleteTemplate> getPublicTemplatesFiltered(final CompleteTemplateFilters filters) {
     return templateQueryService.findCompleteTemplatesFiltered(filters);
   }
 
+  public Page<CompleteTemplate> getVisibleTemplatesFiltered(final CompleteTemplateFilters filters) {
+    String user = JwtUtil.getLoggedInUser();
+    return templateQueryService.findVisibleTemplatesFiltered(filters, user, fetchGroupsOfUser(user));
+  }
+
+  public TemplateFacets getPublicTemplateFacets(final CompleteTemplateFilters filters) {
+    return templateQueryService.findCompleteTemplateFacets(filters);
+  }
+
+  public TemplateFacets getVisibleTemplateFacets(final CompleteTemplateFilters filters) {
+    String user = JwtUtil.getLoggedInUser();
+    return templateQueryService.findVisibleTemplateFacets(filters, user, fetchGroupsOfUser(user));
+  }
+
+  public Page<CompleteTemplate> searchPublicTemplates(final String search, final int page, final int elementsPerPage) {
+    log.info("Searching public templates for: {}", search);
+    CompleteTemplateFilters filters = CompleteTemplateFilters.builder()
+        .search(search)
+        .page(page)
+        .elementsPerPage(elementsPerPage)
+        .build();
+    return templateQueryService.findCompleteTemplatesFiltered(filters);
+  }
+
   public void alterApprovals(String templateId, boolean approved) {
     TemplateUser user = userRepository.getTemplateUserByUsername(JwtUtil.getLoggedInUser()).orElse(null);
     if (Objects.isNull(user)) {
@@ -216,20 +318,20 @@ public class CompleteTemplateService {
     }
 
     userRepository.save(user);
-    templateRepository.incrementApprovalsAndEngagements(templateId, incrementationPair.getLeft(),
-            incrementationPair.getRight());
+    counterAggregator.addApprovals(templateId, incrementationPair.getLeft(), incrementationPair.getRight());
   }
 
   public void updateSharedWith(final String templateId, final List<String> sharedWith) {
     if (sharedWith.contains(JwtUtil.getLoggedInUser())) {
       throw new TemplateException("User cannot share template with themself", HttpStatus.BAD_REQUEST);
     }
-    templateRepository.updateSharedWith(templateId, sharedWith);
+    templateRepository.updateSharedWith(templateId, sharedWith, LocalDateTime.now());
   }
 
   public void deleteTemplate(String templateId) {
     log.info("Deleting complete template with id: {}", templateId);
     templateRepository.deleteById(templateId);
+    searchCache.invalidateAll();
   }
 
   private String buildTagNotApplicableErrorMessage(Category category, Set<String> requestTags) {
@@ -245,4 +347,15 @@ public class CompleteTemplateService {
             .orElseThrow(() -> new TemplateException(String.format(NO_TEMPLATES_FOUND_FOR_ID, templateId), HttpStatus.NOT_FOUND));
   }
 
+  //Group members are the source of truth, the groups on the user are not updated when joining a group
+  private Set<String> fetchGroupsOfUser(final String user) {
+    return groupMembershipIndex.getGroupsOfMember(user);
+  }
+
+  static Pageable buildPublicPageable(final int page, final int elementsPerPage) {
+    Sort sortOrder = Sort.by(Sort.Direction.DESC, "createTime");
+    int pageSize = elementsPerPage <= 0 ? DEFAULT_PAGE_SIZE : elementsPerPage;
+    return PageRequest.of(Math.max(page, 0), pageSize, sortOrder);
+  }
+
 }
@@ -0,0 +1,97 @@
+package com.test.template.service;
+
+import com.test.security.jwt.JwtUtil;
+import com.test.template.exceptions.TemplateException;
+import com.test.template.models.complete.CompleteTemplate;
+import com.test.template.models.complete.CompleteTemplateFilters;
+import com.test.template.models.enums.AccessStatus;
+import com.test.template.service.helpers.TemplateCounterAggregator;
+import com.test.template.service.helpers.TemplateVisibilityCriteria;
+import com.test.user.models.groups.UserGroup;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Non blocking counterpart of the public template reads in {@link CompleteTemplateService}. Requests are
+ * answered once the database replies instead of holding a servlet thread while waiting on it.
+ * <p>
+ * The security context is thread bound, so the logged in user is resolved when a method is called and
+ * never inside the returned publisher.
+ */
+@Slf4j
+@Service
+@AllArgsConstructor
+public class ReactiveTemplateQueryService {
+
+  private static final String NO_TEMPLATES_FOUND_FOR_ID = "No template with id %s found";
+  private static final String TEMPLATE_NOT_ACCESSIBLE = "Unable to access template: %s";
+
+  private final ReactiveMongoTemplate reactiveMongoTemplate;
+  private final TemplateQueryService templateQueryService;
+  private final TemplateCounterAggregator counterAggregator;
+
+  public Mono<Page<CompleteTemplate>> getPublicTemplatesPage(final int page, final int elementsPerPage) {
+    Pageable pageable = CompleteTemplateService.buildPublicPageable(page, elementsPerPage);
+    return findPage(new Query(Criteria.where("accessStatus").is(AccessStatus.PUBLIC)), pageable);
+  }
+
+  public Mono<Page<CompleteTemplate>> getPublicTemplatesFiltered(final CompleteTemplateFilters filters) {
+    Query filteredQuery = templateQueryService.buildFilteredQuery(filters,
+        Criteria.where("accessStatus").is(AccessStatus.PUBLIC));
+    return findPage(filteredQuery, templateQueryService.buildPageable(filters));
+  }
+
+  /**
+   * Fetches a template the logged in user has access to and counts the view.
+   * Access is checked by the query itself, the template is only looked up again to tell a missing one apart.
+   */
+  public Mono<CompleteTemplate> getTemplateById(final String templateId) {
+    log.info("Fetching template with id: {}", templateId);
+    String user = JwtUtil.getLoggedInUser();
+    Query idQuery = new Query(Criteria.where("id").is(templateId));
+
+    return fetchGroupsOfUser(user)
+        .flatMap(groups -> reactiveMongoTemplate.findOne(
+            Query.of(idQuery).addCriteria(TemplateVisibilityCriteria.visibleTo(user, groups)), CompleteTemplate.class))
+        .switchIfEmpty(Mono.defer(() -> reactiveMongoTemplate.exists(idQuery, CompleteTemplate.class)
+            .flatMap(exists -> Mono.error(exists
+                ? new TemplateException(String.format(TEMPLATE_NOT_ACCESSIBLE, templateId), HttpStatus.FORBIDDEN)
+                : new TemplateException(String.format(NO_TEMPLATES_FOUND_FOR_ID, templateId), HttpStatus.NOT_FOUND)))))
+        .doOnNext(template -> counterAggregator.incrementViews(templateId));
+  }
+
+  private Mono<Page<CompleteTemplate>> findPage(final Query query, final Pageable pageable) {
+    query.with(pageable);
+    //Unlike the blocking page, content and total are requested concurrently
+    return Mono.zip(
+            reactiveMongoTemplate.find(query, CompleteTemplate.class).collectList(),
+            reactiveMongoTemplate.count(Query.of(query).skip(-1).limit(-1), CompleteTemplate.class))
+        .map(pageContent -> new PageImpl<>(pageContent.getT1(), pageable, pageContent.getT2()));
+  }
+
+  //Same source as GroupMembershipIndex, the members of each group
+  private Mono<Set<String>> fetchGroupsOfUser(final String user) {
+    if (Objects.isNull(user)) {
+      return Mono.just(Set.of());
+    }
+    Query groupsQuery = new Query(Criteria.where("members").is(user));
+    groupsQuery.fields().include("id");
+    return reactiveMongoTemplate.find(groupsQuery, UserGroup.class)
+        .map(UserGroup::getId)
+        .collect(Collectors.toUnmodifiableSet());
+  }
+
+}
@@ -1,16 +1,20 @@
 package com.test.template.service;
 
+import com.test.outbox.models.OutboxEventType;
+import com.test.outbox.models.PendingEffect;
+import com.test.outbox.service.OutboxService;
 import com.test.security.jwt.JwtUtil;
 import com.test.template.exceptions.TemplateException;
 import com.test.template.mappers.TemplateStepMapper;
 import com.test.template.models.draft.PutTemplateDraftRequest;
 import com.test.template.models.draft.TemplateDraft;
 import com.test.template.models.draft.TemplateDraftRequest;
+import com.test.template.models.summary.DraftSummary;
 import com.test.template.models.tracked.TrackedTemplate;
 import com.test.template.repository.TemplateDraftRepository;
 import com.test.template.repository.TrackedTemplateRepository;
 import com.test.template.service.builders.TemplateBuilder;
-import com.test.utils.ThreadExecutor;
+import com.test.template.service.helpers.TemplateSnapshotStore;
 import java.util.Optional;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -36,6 +40,9 @@ public class TemplateDraftService {
   private final TemplateStepMapper stepMapper;
   private final TemplateDraftRepository draftRepository;
   private final TrackedTemplateRepository trackedTemplateRepository;
+  private final OutboxService outboxService;
+  private final TemplateSnapshotStore snapshotStore;
+  private final TemplateSummaryQueryService summaryQueryService;
 
   public TemplateDraft createTemplateDraft(TemplateDraftRequest request) {
     TemplateDraft draft = templateBuilder.buildTemplateDraft(request, JwtUtil.getLoggedInUser());
@@ -79,25 +86,26 @@ public class TemplateDraftService {
     if (!Objects.requireNonNull(owner).equals(journal.getOwnerName())) {
       throw new TemplateException(USER_DOES_NOT_OWN_JOURNAL, HttpStatus.BAD_REQUEST);
     }
+    snapshotStore.resolve(journal);
 
     TemplateDraft promotedDraft = templateBuilder.buildDraftFromJournal(owner, journal, ignoreAbandoned);
+    if (deleteOnCreation) {
+      //Written together with the draft, so the journal is deleted even if the instance stops right after the insert
+      promotedDraft.setPendingEffects(List.of(PendingEffect.of(OutboxEventType.DELETE_JOURNAL, journal.getId())));
+    }
     log.info("Promoting journal: {} to draft", trackedTemplateId);
     TemplateDraft createdDraft = draftRepository.insert(promotedDraft);
 
     if (deleteOnCreation) {
-      ThreadExecutor.executeTask(() -> {
-        log.info("Deleting tracked template after creating draft {}", createdDraft.getId());
-        trackedTemplateRepository.delete(journal);
-      });
+      log.info("Deleting tracked template after creating draft {}", createdDraft.getId());
+      outboxService.dispatchPendingEffects();
     }
 
     return createdDraft;
   }
 
   public List<TemplateDraft> getTemplateDraftsFromCreator(String username, int page, int elementsPerPage) {
-    if (!username.equals(JwtUtil.getLoggedInUser())) {
-      throw new TemplateException(String.format("Unable to view drafts from user %s", username), HttpStatus.BAD_REQUEST);
-    }
+    validateDraftListAccess(username);
 
     if (page == 0 && elementsPerPage == 0) {
       log.info("Fetching all drafts created by: {}", username);
@@ -108,6 +116,18 @@ public class TemplateDraftService {
     return draftRepository.getTemplateDraftsByCreatorName(username, PageRequest.of(page, elementsPerPage));
   }
 
+  public List<DraftSummary> getDraftSummariesFromCreator(String username, int page, int elementsPerPage) {
+    validateDraftListAccess(username);
+
+    if (page == 0 && elementsPerPage == 0) {
+      log.info("Fetching summaries of all drafts created by: {}", username);
+      return summaryQueryService.findDraftSummariesByCreator(username, null);
+    }
+
+    log.info("Fetching {} draft summaries from page {}", elementsPerPage, page);
+    return summaryQueryService.findDraftSummariesByCreator(username, PageRequest.of(page, elementsPerPage));
+  }
+
   public TemplateDraft getTemplateDraftById(final String templateDraftId) {
     log.info("Fetching draft with id: {}", templateDraftId);
     TemplateDraft retrievedDraft = draftRepository.findById(templateDraftId)
@@ -136,4 +156,10 @@ public class TemplateDraftService {
 
     return false;
   }
+
+  private void validateDraftListAccess(String username) {
+    if (!username.equals(JwtUtil.getLoggedInUser())) {
+      throw new TemplateException(String.format("Unable to view drafts from user %s", username), HttpStatus.BAD_REQUEST);
+    }
+  }
 }
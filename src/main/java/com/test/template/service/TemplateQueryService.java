@@ -1,68 +1,298 @@
 package com.test.template.service;
 
+import com.test.template.exceptions.TemplateException;
+import com.test.template.models.CursorPage;
 import com.test.template.models.complete.CompleteTemplate;
 import com.test.template.models.complete.CompleteTemplateFilters;
 import com.test.template.models.enums.AccessStatus;
-import com.test.template.service.helpers.TemplateFilterPredicateAggregator;
-import java.util.Set;
+import com.test.template.models.facets.FacetBucket;
+import com.test.template.models.facets.FacetCount;
+import com.test.template.models.facets.TemplateFacets;
+import com.test.template.service.helpers.TemplateCursorCodec;
+import com.test.template.service.helpers.TemplateCursorCodec.TemplateCursor;
+import com.test.template.service.helpers.TemplateSearchCache;
+import com.test.template.service.helpers.TemplateSearchCache.SearchType;
+import com.test.template.service.helpers.TemplateVisibilityCriteria;
+import jakarta.annotation.PostConstruct;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.bson.Document;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.index.TextIndexDefinition.TextIndexDefinitionBuilder;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
 import java.sql.Date;
+import java.time.Duration;
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Pattern;
 
 @Slf4j
 @Service
 @AllArgsConstructor
 public class TemplateQueryService {
 
+  private static final int DEFAULT_PAGE_SIZE = 20;
+  private static final int MAX_PAGE_SIZE = 100;
+  private static final String DEFAULT_SORT_FIELD = "createTime";
+  private static final Set<String> SORTABLE_FIELDS = Set.of(DEFAULT_SORT_FIELD, "title", "views", "branches",
+      "approvals", "templateApprovalPercent", "completionRate", "templateMedianDurationSeconds");
+  private static final String SORT_FIELD_NOT_SUPPORTED = "Sorting by %s is not supported";
+  private static final String TEXT_INDEX_NAME = "template_text_index";
+  private static final int MAX_TAG_FACETS = 50;
+  //Templates without a value for a histogram field are collected in this bucket and left out of the response
+  private static final String UNKNOWN_BUCKET = "unknown";
+  private static final List<Long> APPROVAL_PERCENT_BOUNDARIES = List.of(0L, 20L, 40L, 60L, 80L, 101L);
+  private static final List<Long> COMPLETION_TIME_BOUNDARIES = List.of(0L, Duration.ofHours(1).getSeconds(),
+      Duration.ofDays(1).getSeconds(), Duration.ofDays(7).getSeconds(), Duration.ofDays(30).getSeconds(),
+      Long.MAX_VALUE);
+
   private final MongoTemplate mongoTemplate;
+  private final TemplateCursorCodec cursorCodec;
+  private final TemplateSearchCache searchCache;
+
+  /**
+   * Text index over template and step titles used by the full text search mode.
+   * Created here rather than through annotations as step titles are embedded in drafts and journals as well.
+   */
+  @PostConstruct
+  public void ensureTextIndex() {
+    try {
+      mongoTemplate.indexOps(CompleteTemplate.class).ensureIndex(new TextIndexDefinitionBuilder()
+          .named(TEXT_INDEX_NAME)
+          .onField("title", 3F)
+          .onField("steps.title", 2F)
+          .onField("content")
+          .build());
+    } catch (DataAccessException e) {
+      log.warn("Unable to create template text index", e);
+    }
+  }
 
   public Page<CompleteTemplate> findCompleteTemplatesFiltered(CompleteTemplateFilters filters) {
+    CompleteTemplateFilters normalizedFilters = normalizeFilters(filters, true);
+    return searchCache.get(SearchType.PAGE, normalizedFilters,
+        () -> findTemplatesFiltered(normalizedFilters, Criteria.where("accessStatus").is(AccessStatus.PUBLIC)));
+  }
+
+  /**
+   * Same as {@link #findCompleteTemplatesFiltered} but over every template the user can access
+   * rather than only public ones.
+   *
+   * @param user   Logged in user, null for anonymous requests
+   * @param groups Groups the user is a member of
+   */
+  public Page<CompleteTemplate> findVisibleTemplatesFiltered(CompleteTemplateFilters filters, String user,
+                                                             Set<String> groups) {
+    return findTemplatesFiltered(filters, TemplateVisibilityCriteria.visibleTo(user, groups));
+  }
+
+  private Page<CompleteTemplate> findTemplatesFiltered(CompleteTemplateFilters filters, Criteria accessCriteria) {
+    Query filteredQuery = buildFilteredQuery(filters, accessCriteria);
+    Pageable pageable = buildPageable(filters);
+    filteredQuery.with(pageable);
+
+    List<CompleteTemplate> fetchedTemplates = mongoTemplate.find(filteredQuery, CompleteTemplate.class);
+    return PageableExecutionUtils.getPage(fetchedTemplates, pageable, () -> mongoTemplate.count(
+        Query.of(filteredQuery).skip(-1).limit(-1), CompleteTemplate.class));
+  }
+
+  public TemplateFacets findCompleteTemplateFacets(CompleteTemplateFilters filters) {
+    CompleteTemplateFilters normalizedFilters = normalizeFilters(filters, false);
+    return searchCache.get(SearchType.FACETS, normalizedFilters,
+        () -> findTemplateFacets(normalizedFilters, Criteria.where("accessStatus").is(AccessStatus.PUBLIC)));
+  }
+
+  public TemplateFacets findVisibleTemplateFacets(CompleteTemplateFilters filters, String user, Set<String> groups) {
+    return findTemplateFacets(filters, TemplateVisibilityCriteria.visibleTo(user, groups));
+  }
+
+  /**
+   * Counts every template matching the filters per category, tag, approval percent and completion time
+   * in a single $facet aggregation. Paging and sorting of the filters are ignored.
+   */
+  private TemplateFacets findTemplateFacets(CompleteTemplateFilters filters, Criteria accessCriteria) {
+    Document filterObject = buildFilteredQuery(filters, accessCriteria).getQueryObject();
+    TypedAggregation<CompleteTemplate> aggregation = Aggregation.newAggregation(CompleteTemplate.class,
+        context -> new Document("$match", context.getMappedObject(filterObject)),
+        Aggregation.facet(Aggregation.count().as("count")).as("total")
+            .and(Aggregation.sortByCount("category")).as("categories")
+            .and(Aggregation.unwind("tags"), Aggregation.sortByCount("tags"), Aggregation.limit(MAX_TAG_FACETS))
+            .as("tags")
+            .and(Aggregation.bucket("templateApprovalPercent")
+                .withBoundaries(APPROVAL_PERCENT_BOUNDARIES.toArray())
+                .withDefaultBucket(UNKNOWN_BUCKET)).as("approvalPercent")
+            .and(Aggregation.bucket("templateMedianDurationSeconds")
+                .withBoundaries(COMPLETION_TIME_BOUNDARIES.toArray())
+                .withDefaultBucket(UNKNOWN_BUCKET)).as("completionTime"));
+
+    Document facets = Objects.requireNonNullElseGet(
+        mongoTemplate.aggregate(aggregation, Document.class).getUniqueMappedResult(), Document::new);
+    List<Document> total = facets.getList("total", Document.class, List.of());
+    return TemplateFacets.builder()
+        .total(total.isEmpty() ? 0 : total.get(0).get("count", Number.class).longValue())
+        .categories(toFacetCounts(facets.getList("categories", Document.class, List.of())))
+        .tags(toFacetCounts(facets.getList("tags", Document.class, List.of())))
+        .approvalPercent(toFacetBuckets(facets.getList("approvalPercent", Document.class, List.of()),
+            APPROVAL_PERCENT_BOUNDARIES))
+        .completionTime(toFacetBuckets(facets.getList("completionTime", Document.class, List.of()),
+            COMPLETION_TIME_BOUNDARIES))
+        .build();
+  }
+
+  private List<FacetCount> toFacetCounts(List<Document> counts) {
+    return counts.stream()
+        .filter(count -> Objects.nonNull(count.get("_id")))
+        .map(count -> FacetCount.builder()
+            .value(count.get("_id").toString())
+            .count(count.get("count", Number.class).longValue())
+            .build())
+        .toList();
+  }
+
+  private List<FacetBucket> toFacetBuckets(List<Document> buckets, List<Long> boundaries) {
+    return buckets.stream()
+        .filter(bucket -> bucket.get("_id") instanceof Number)
+        .map(bucket -> {
+          long from = bucket.get("_id", Number.class).longValue();
+          Long to = boundaries.get(boundaries.indexOf(from) + 1);
+          return FacetBucket.builder()
+              .from(from)
+              .to(to == Long.MAX_VALUE ? null : to)
+              .count(bucket.get("count", Number.class).longValue())
+              .build();
+        })
+        .toList();
+  }
 
-    List<CompleteTemplate> fetchedTemplates = fetchFilteredTemplates(filters);
-    TemplateFilterPredicateAggregator aggregator = new TemplateFilterPredicateAggregator(filters);
+  /**
+   * Keyset pagination over public templates ordered by (createTime, id) descending.
+   * Every page is served by the same range scan regardless of how deep the client has paged.
+   *
+   * @param cursor Continuation token returned with the previous page, blank for the first page
+   * @param limit  Maximum amount of templates to return
+   */
+  public CursorPage<CompleteTemplate> findPublicTemplatesAfter(final String cursor, final int limit) {
+    int pageSize = limit > 0 ? Math.min(limit, MAX_PAGE_SIZE) : DEFAULT_PAGE_SIZE;
 
-    if (aggregator.isEmpty()) {
-      return new PageImpl<>(fetchedTemplates);
+    Query cursorQuery = new Query(Criteria.where("accessStatus").is(AccessStatus.PUBLIC));
+    if (!StringUtils.isBlank(cursor)) {
+      TemplateCursor position = cursorCodec.decode(cursor);
+      cursorQuery.addCriteria(new Criteria().orOperator(
+          Criteria.where(DEFAULT_SORT_FIELD).lt(position.getCreateTime()),
+          Criteria.where(DEFAULT_SORT_FIELD).is(position.getCreateTime()).and("id").lt(position.getId())));
     }
+    cursorQuery.with(Sort.by(Sort.Direction.DESC, DEFAULT_SORT_FIELD, "id"));
+    //Fetch a single extra element to find out if another page exists
+    cursorQuery.limit(pageSize + 1);
 
-    List<CompleteTemplate> filteredTemplates = new ArrayList<>(fetchedTemplates.size());
+    List<CompleteTemplate> fetchedTemplates = mongoTemplate.find(cursorQuery, CompleteTemplate.class);
+    boolean hasNext = fetchedTemplates.size() > pageSize;
+    List<CompleteTemplate> content = hasNext ? fetchedTemplates.subList(0, pageSize) : fetchedTemplates;
 
-    fetchedTemplates.forEach(template -> {
-      if (aggregator.execute(template)) {
-        filteredTemplates.add(template);
-      }
-    });
+    String nextCursor = null;
+    if (hasNext) {
+      CompleteTemplate last = content.get(content.size() - 1);
+      nextCursor = cursorCodec.encode(last.getCreateTime(), last.getId());
+    }
+
+    return CursorPage.<CompleteTemplate>builder()
+        .content(content)
+        .nextCursor(nextCursor)
+        .hasNext(hasNext)
+        .build();
+  }
+
+  /**
+   * Builds a copy of the filters in which every value without an effect on the query is unset and the
+   * paging values are defaulted, so equal searches produce equal cache keys.
+   *
+   * @param paged Whether paging and sorting are part of the search
+   */
+  private CompleteTemplateFilters normalizeFilters(CompleteTemplateFilters filters, boolean paged) {
+    CompleteTemplateFilters normalized = CompleteTemplateFilters.builder()
+        //Titles are matched case insensitively
+        .title(StringUtils.lowerCase(StringUtils.stripToNull(filters.getTitle())))
+        .search(StringUtils.stripToNull(filters.getSearch()))
+        .categoryName(StringUtils.trimToNull(filters.getCategoryName()))
+        .tags(Objects.isNull(filters.getTags()) || filters.getTags().isEmpty() ? null : Set.copyOf(filters.getTags()))
+        .minDate(filters.getMinDate())
+        .maxDate(Objects.isNull(filters.getMinDate()) ? null : filters.getMaxDate())
+        .isOriginal(Boolean.TRUE.equals(filters.getIsOriginal()) ? Boolean.TRUE : null)
+        .minApprovalPercent(isPositive(filters.getMinApprovalPercent()) ? filters.getMinApprovalPercent() : null)
+        .minCompletionRate(isPositive(filters.getMinCompletionRate()) ? filters.getMinCompletionRate() : null)
+        .maxCompletionTime(Objects.isNull(filters.getMaxCompletionTime()) || filters.getMaxCompletionTime().isZero()
+            ? null : filters.getMaxCompletionTime())
+        .build();
+
+    if (paged) {
+      normalized.setPage(Objects.isNull(filters.getPage()) ? 0 : Math.max(filters.getPage(), 0));
+      normalized.setElementsPerPage(isPositive(filters.getElementsPerPage())
+          ? Math.min(filters.getElementsPerPage(), MAX_PAGE_SIZE) : DEFAULT_PAGE_SIZE);
+      //A blank sort field is kept unset as text searches are then ordered by relevance
+      normalized.setSortBy(StringUtils.trimToNull(filters.getSortBy()));
+      normalized.setSortDirection(Objects.isNull(filters.getSortDirection())
+          ? Sort.Direction.DESC : filters.getSortDirection());
+    }
+    return normalized;
+  }
+
+  //Package private so the reactive API runs the same queries
+  Pageable buildPageable(CompleteTemplateFilters filters) {
+    int page = Objects.isNull(filters.getPage()) ? 0 : Math.max(filters.getPage(), 0);
+    int pageSize = isPositive(filters.getElementsPerPage())
+        ? Math.min(filters.getElementsPerPage(), MAX_PAGE_SIZE) : DEFAULT_PAGE_SIZE;
+
+    String sortField = StringUtils.isBlank(filters.getSortBy()) ? DEFAULT_SORT_FIELD : filters.getSortBy();
+    if (!SORTABLE_FIELDS.contains(sortField)) {
+      throw new TemplateException(String.format(SORT_FIELD_NOT_SUPPORTED, sortField), HttpStatus.BAD_REQUEST);
+    }
+    Sort.Direction direction = Objects.isNull(filters.getSortDirection())
+        ? Sort.Direction.DESC : filters.getSortDirection();
 
-    return new PageImpl<>(filteredTemplates);
+    //Secondary sort on id keeps page boundaries stable for equal sort values
+    return PageRequest.of(page, pageSize, Sort.by(direction, sortField).and(Sort.by(direction, "id")));
   }
 
-  private List<CompleteTemplate> fetchFilteredTemplates(CompleteTemplateFilters filters) {
-    Query filteredQuery = new Query();
-    filteredQuery.with(Sort.by(Sort.Direction.DESC, "createTime"));
-    filteredQuery.addCriteria(Criteria.where("accessStatus").is(AccessStatus.PUBLIC));
+  Query buildFilteredQuery(CompleteTemplateFilters filters, Criteria accessCriteria) {
+    Query filteredQuery;
+    String search = StringUtils.strip(filters.getSearch());
+    if (!StringUtils.isBlank(search)) {
+      TextQuery textQuery = TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(search)).includeScore();
+      //Relevance only decides the order if the caller has not asked for a specific one
+      filteredQuery = StringUtils.isBlank(filters.getSortBy()) ? textQuery.sortByScore() : textQuery;
+    } else {
+      filteredQuery = new Query();
+    }
+    filteredQuery.addCriteria(accessCriteria);
 
     String title = StringUtils.strip(filters.getTitle());
     if (!StringUtils.isBlank(title)) {
-      filteredQuery.addCriteria(Criteria.where("title").regex(".* " + title + " .*"));
+      filteredQuery.addCriteria(Criteria.where("title").regex(Pattern.quote(title), "i"));
     }
 
     if (!StringUtils.isBlank(filters.getCategoryName())) {
       filteredQuery.addCriteria(Criteria.where("category").is(filters.getCategoryName()));
-      if (filters.getTags() != null && filters.getTags().size() == 1) {
-        filteredQuery.addCriteria(buildTagsCriteria(filters.getTags()));
-      }
+    }
+
+    if (Objects.nonNull(filters.getTags()) && !filters.getTags().isEmpty()) {
+      filteredQuery.addCriteria(Criteria.where("tags").in(filters.getTags()));
     }
 
     if (filters.getMinDate() != null) {
@@ -79,18 +309,28 @@ public class TemplateQueryService {
     }
 
     if (Boolean.TRUE.equals(filters.getIsOriginal())) {
-      filteredQuery.addCriteria(Criteria.where("parentDetails").exists(false));
+      filteredQuery.addCriteria(Criteria.where("parentDetails.parentId").exists(false));
     }
 
-    return mongoTemplate.find(filteredQuery, CompleteTemplate.class);
-  }
+    if (isPositive(filters.getMinApprovalPercent())) {
+      //Percent is materialized as 0 without engagements, so the range also excludes unrated templates
+      filteredQuery.addCriteria(Criteria.where("templateApprovalPercent").gte(filters.getMinApprovalPercent()));
+    }
 
-  private Criteria buildTagsCriteria(Set<String> tags) {
-    Criteria tagCriteria = new Criteria();
-    for (String tag : tags) {
-      tagCriteria = tagCriteria.orOperator(Criteria.where("tags").is(tag));
+    if (isPositive(filters.getMinCompletionRate())) {
+      filteredQuery.addCriteria(Criteria.where("completionRate").gt(filters.getMinCompletionRate()));
     }
-    return tagCriteria;
+
+    if (Objects.nonNull(filters.getMaxCompletionTime()) && !filters.getMaxCompletionTime().isZero()) {
+      filteredQuery.addCriteria(Criteria.where("templateMedianDurationSeconds")
+          .lte(filters.getMaxCompletionTime().getSeconds()));
+    }
+
+    return filteredQuery;
+  }
+
+  private boolean isPositive(Integer value) {
+    return Objects.nonNull(value) && value > 0;
   }
 
 }
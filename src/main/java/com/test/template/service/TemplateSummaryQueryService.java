@@ -0,0 +1,110 @@
+package com.test.template.service;
+
+import com.test.template.models.complete.CompleteTemplate;
+import com.test.template.models.draft.TemplateDraft;
+import com.test.template.models.enums.AccessStatus;
+import com.test.template.models.summary.DraftSummary;
+import com.test.template.models.summary.JournalSummary;
+import com.test.template.models.summary.TemplateSummary;
+import com.test.template.models.tracked.TrackedTemplate;
+import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.ArrayOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.ProjectionOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Summary queries for list endpoints. Only the fields rendered on list cards are read and the step
+ * count is computed by the database, so step content is never loaded or serialized.
+ */
+@Service
+@AllArgsConstructor
+public class TemplateSummaryQueryService {
+
+  private final MongoTemplate mongoTemplate;
+
+  public Page<TemplateSummary> findPublicTemplateSummaries(final Pageable pageable) {
+    Criteria criteria = Criteria.where("accessStatus").is(AccessStatus.PUBLIC);
+    List<TemplateSummary> summaries = aggregate(CompleteTemplate.class, TemplateSummary.class, criteria, pageable,
+        templateProjection());
+    return PageableExecutionUtils.getPage(summaries, pageable,
+        () -> mongoTemplate.count(Query.query(criteria), CompleteTemplate.class));
+  }
+
+  /**
+   * @param accessStatus Access status to restrict the templates to, null for templates of any status
+   * @param pageable     Page to fetch, null to fetch every template from the creator
+   */
+  public List<TemplateSummary> findTemplateSummariesByCreator(final String creatorName,
+                                                              final AccessStatus accessStatus,
+                                                              final Pageable pageable) {
+    Criteria criteria = Criteria.where("creatorName").is(creatorName);
+    if (Objects.nonNull(accessStatus)) {
+      criteria.and("accessStatus").is(accessStatus);
+    }
+    return aggregate(CompleteTemplate.class, TemplateSummary.class, criteria, pageable, templateProjection());
+  }
+
+  /**
+   * @param pageable Page to fetch, null to fetch every draft from the creator
+   */
+  public List<DraftSummary> findDraftSummariesByCreator(final String creatorName, final Pageable pageable) {
+    ProjectionOperation projection = Aggregation.project("creatorName", "parentTemplateId", "title", "imageUrl",
+            "creationTime", "lastUpdateTime")
+        .and(stepCount("steps")).as("stepCount");
+    return aggregate(TemplateDraft.class, DraftSummary.class, Criteria.where("creatorName").is(creatorName),
+        pageable, projection);
+  }
+
+  public List<JournalSummary> findJournalSummariesByOwner(final String ownerName) {
+    ProjectionOperation projection = Aggregation.project("ownerName", "currentStatus", "creationTime", "updateTime")
+        .and("originalTemplate.id").as("templateId")
+        .and(ConditionalOperators.ifNull("newTitle").thenValueOf("originalTemplate.title")).as("title")
+        .and(ConditionalOperators.ifNull("markedUpImage").thenValueOf("originalTemplate.imageUrl")).as("imageUrl")
+        .and(stepCount("trackedSteps")).as("stepCount");
+    return aggregate(TrackedTemplate.class, JournalSummary.class, Criteria.where("ownerName").is(ownerName),
+        null, projection);
+  }
+
+  private ProjectionOperation templateProjection() {
+    return Aggregation.project("creatorName", "title", "imageUrl", "category", "tags", "accessStatus", "views",
+            "branches", "approvals", "templateApprovalPercent", "completionRate", "createTime")
+        .and(stepCount("steps")).as("stepCount");
+  }
+
+  private static ArrayOperators.Size stepCount(final String stepsField) {
+    return ArrayOperators.Size.lengthOfArray(ConditionalOperators.ifNull(stepsField).then(Collections.emptyList()));
+  }
+
+  private <T> List<T> aggregate(final Class<?> inputType, final Class<T> outputType, final Criteria criteria,
+                                final Pageable pageable, final ProjectionOperation projection) {
+    List<AggregationOperation> operations = new ArrayList<>();
+    operations.add(Aggregation.match(criteria));
+    if (Objects.nonNull(pageable) && pageable.isPaged()) {
+      if (pageable.getSort().isSorted()) {
+        operations.add(Aggregation.sort(pageable.getSort()));
+      }
+      operations.add(Aggregation.skip(pageable.getOffset()));
+      operations.add(Aggregation.limit(pageable.getPageSize()));
+    }
+    //Projection runs last so sorting and paging can still use the indexes of the collection
+    operations.add(projection);
+
+    return mongoTemplate.aggregate(Aggregation.newAggregation(inputType, operations), outputType)
+        .getMappedResults();
+  }
+
+}
@@ -6,23 +6,29 @@ import com.test.template.mappers.TemplateStepMapper;
 import com.test.template.models.complete.CompleteTemplate;
 import com.test.template.models.enums.ProgressionStatus;
 import com.test.template.models.steps.TrackedStep;
+import com.test.template.models.summary.JournalSummary;
+import com.test.template.models.tracked.StepStatusCounts;
 import com.test.template.models.tracked.TrackedTemplate;
 import com.test.template.models.tracked.UpdateTrackedTemplateRequest;
 import com.test.template.repository.CompleteTemplateRepository;
 import com.test.template.repository.TrackedTemplateRepository;
 import com.test.template.service.builders.TemplateBuilder;
 import com.test.template.service.helpers.ProgressionStatusHelper;
+import com.test.template.service.helpers.TemplateSnapshotStore;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -32,12 +38,16 @@ public class TrackedTemplateService {
   private static final String NO_TEMPLATES_FOUND_FOR_ID = "No template with id %s found";
   private static final String NO_TRACKED_TEMPLATE_FOUND_FOR_ID = "No tracked template draft with id %s found";
   private static final String STEPS_SIZE_MISMATCH = "Size of updated steps exceeds that of the saved steps";
+  private static final String JOURNAL_MODIFIED_CONCURRENTLY = "Journal %s was modified by another request, reload and retry";
+  private static final String TRACKED_STEP_PATH = "trackedSteps.%d.";
 
   private final TemplateBuilder templateBuilder;
   private final ProgressionStatusHelper progressionStatusHelper;
   private final TemplateStepMapper stepMapper;
   private final CompleteTemplateRepository templateRepository;
   private final TrackedTemplateRepository trackedTemplateRepository;
+  private final TemplateSnapshotStore snapshotStore;
+  private final TemplateSummaryQueryService summaryQueryService;
 
   public TrackedTemplate trackTemplate(final String templateId) {
     String loggedInUser = JwtUtil.getLoggedInUser();
@@ -49,20 +59,27 @@ public class TrackedTemplateService {
     CompleteTemplate template = templateRepository.findById(templateId).orElseThrow(
         () -> new TemplateException(String.format(NO_TEMPLATES_FOUND_FOR_ID, templateId), HttpStatus.BAD_REQUEST));
     TrackedTemplate trackedTemplate = templateBuilder.buildNewTrackedTemplate(template, JwtUtil.getLoggedInUser());
+    snapshotStore.externalize(trackedTemplate);
     log.info("Creating new journal from template: {}", templateId);
-    return trackedTemplateRepository.insert(trackedTemplate);
+    TrackedTemplate createdJournal = trackedTemplateRepository.insert(trackedTemplate);
+    snapshotStore.resolve(createdJournal);
+    return createdJournal;
   }
 
   public void updateTrackedTemplate(final UpdateTrackedTemplateRequest request, final String trackedTemplateId) {
-    TrackedTemplate trackedTemplate = trackedTemplateRepository.findById(trackedTemplateId)
+    TrackedTemplate trackedTemplate = trackedTemplateRepository.findForUpdate(trackedTemplateId)
         .orElseThrow(() -> new TemplateException(String.format(NO_TRACKED_TEMPLATE_FOUND_FOR_ID, trackedTemplateId),
             HttpStatus.BAD_REQUEST));
+    Update update = new Update();
 
     trackedTemplate.setNewTitle(request.getNewTitle());
     trackedTemplate.setMarkedUpContent(request.getMarkedUpContent());
+    update.set("newTitle", request.getNewTitle());
+    update.set("markedUpContent", request.getMarkedUpContent());
 
     if (Objects.nonNull(request.getTrackedRequirements())) {
       trackedTemplate.setTrackedRequirements(request.getTrackedRequirements());
+      update.set("trackedRequirements", request.getTrackedRequirements());
     }
 
     if (request.getTrackedSteps().keySet().size() > trackedTemplate.getTrackedSteps().size()) {
@@ -74,30 +91,42 @@ public class TrackedTemplateService {
     progressionStatusHelper.validateStatusApplicability(requestSteps.values());
 
     List<TrackedStep> trackedSteps = trackedTemplate.getTrackedSteps();
+    StepStatusCounts statusCounts = Objects.requireNonNullElseGet(trackedTemplate.getStepStatusCounts(),
+        () -> StepStatusCounts.of(trackedSteps));
+    List<Integer> changedStatusIndices = new ArrayList<>();
 
     for (Map.Entry<Integer, TrackedStep> step : requestSteps.entrySet()) {
       TrackedStep currentStep = trackedSteps.get(step.getKey());
-      currentStep.setMarkedUpTitle(step.getValue().getMarkedUpTitle());
-      currentStep.setMarkedUpContent(step.getValue().getMarkedUpContent());
-      currentStep.setProgressionStatus(step.getValue().getProgressionStatus());
-      currentStep.setTimeSpent(step.getValue().getTimeSpent());
-      currentStep.setNotes(step.getValue().getNotes());
+      ProgressionStatus previousStatus = currentStep.getProgressionStatus();
+      applyStepChanges(step.getKey(), currentStep, step.getValue(), update);
+
+      if (previousStatus != currentStep.getProgressionStatus()) {
+        changedStatusIndices.add(step.getKey());
+        if (!Boolean.TRUE.equals(currentStep.getOptional())) {
+          statusCounts.move(previousStatus, currentStep.getProgressionStatus());
+        }
+      }
     }
+    update.set("stepStatusCounts", statusCounts);
 
     //Set status
-    progressionStatusHelper.validateProgressionStepOrdering(trackedSteps);
-    ProgressionStatus aggregateStatus = progressionStatusHelper.aggregateStepProgressionStatus(trackedSteps);
+    progressionStatusHelper.validateProgressionStepOrdering(trackedSteps, changedStatusIndices);
+    ProgressionStatus aggregateStatus = progressionStatusHelper.aggregateProgressionStatus(statusCounts);
     if (!Objects.isNull(request.getNewStatus()) && request.getNewStatus().isTemplateLevel()) {
       progressionStatusHelper.checkProgressionStatusApplicability(request.getNewStatus(), aggregateStatus);
       trackedTemplate.setCurrentStatus(request.getNewStatus());
     } else {
       trackedTemplate.setCurrentStatus(aggregateStatus);
     }
+    update.set("currentStatus", trackedTemplate.getCurrentStatus());
 
     trackedTemplate.setUpdateTime(LocalDateTime.now());
+    update.set("updateTime", trackedTemplate.getUpdateTime());
 
     log.info("Updating journal with id: {}", trackedTemplateId);
-    trackedTemplateRepository.save(trackedTemplate);
+    if (!trackedTemplateRepository.updateIfVersionMatches(trackedTemplateId, trackedTemplate.getVersion(), update)) {
+      throw new TemplateException(String.format(JOURNAL_MODIFIED_CONCURRENTLY, trackedTemplateId), HttpStatus.CONFLICT);
+    }
   }
 
   public TrackedTemplate getJournalFromTemplateForOwner(String templateId, String ownerName) {
@@ -110,12 +139,32 @@ public class TrackedTemplateService {
           "User %s has not created a journal for template with id: %s", ownerName, templateId), HttpStatus.NOT_FOUND);
     }
 
+    snapshotStore.resolve(retrievedJournal.get());
     return retrievedJournal.get();
   }
 
   public List<TrackedTemplate> getJournalsForUser(String ownerName) {
     validateJournalOwnership(ownerName);
-    return trackedTemplateRepository.getTrackedTemplatesByOwnerName(ownerName);
+    List<TrackedTemplate> journals = trackedTemplateRepository.getTrackedTemplatesByOwnerName(ownerName);
+    snapshotStore.resolveAll(journals);
+    return journals;
+  }
+
+  /**
+   * Streams every journal of the user straight from a database cursor. The stream needs to be closed.
+   */
+  public Stream<TrackedTemplate> streamJournalsForUser(String ownerName) {
+    validateJournalOwnership(ownerName);
+    return trackedTemplateRepository.streamTrackedTemplatesByOwnerName(ownerName)
+        .map(journal -> {
+          snapshotStore.resolve(journal);
+          return journal;
+        });
+  }
+
+  public List<JournalSummary> getJournalSummariesForUser(String ownerName) {
+    validateJournalOwnership(ownerName);
+    return summaryQueryService.findJournalSummariesByOwner(ownerName);
   }
 
   public boolean deleteTrackedTemplate(final String username, final String trackedTemplateId) {
@@ -127,6 +176,37 @@ public class TrackedTemplateService {
     return trackedTemplateRepository.deleteDistinctByIdAndOwnerName(trackedTemplateId, username) > 0;
   }
 
+  //Copies the requested values onto the loaded step and adds a positional $set for every field which changed
+  private void applyStepChanges(final int index, final TrackedStep currentStep, final TrackedStep requestStep,
+                                final Update update) {
+    String stepPath = String.format(TRACKED_STEP_PATH, index);
+
+    //A missing title or content keeps the current one, as TrackedStep ignores null for both.
+    //Notes and time spent are replaced as sent, null clears them
+    if (Objects.nonNull(requestStep.getMarkedUpTitle())
+        && !requestStep.getMarkedUpTitle().equals(currentStep.getMarkedUpTitle())) {
+      currentStep.setMarkedUpTitle(requestStep.getMarkedUpTitle());
+      update.set(stepPath + "markedUpTitle", requestStep.getMarkedUpTitle());
+    }
+    if (Objects.nonNull(requestStep.getMarkedUpContent())
+        && !requestStep.getMarkedUpContent().equals(currentStep.getMarkedUpContent())) {
+      currentStep.setMarkedUpContent(requestStep.getMarkedUpContent());
+      update.set(stepPath + "markedUpContent", requestStep.getMarkedUpContent());
+    }
+    if (requestStep.getProgressionStatus() != currentStep.getProgressionStatus()) {
+      currentStep.setProgressionStatus(requestStep.getProgressionStatus());
+      update.set(stepPath + "progressionStatus", requestStep.getProgressionStatus());
+    }
+    if (!Objects.equals(requestStep.getTimeSpent(), currentStep.getTimeSpent())) {
+      currentStep.setTimeSpent(requestStep.getTimeSpent());
+      update.set(stepPath + "timeSpent", requestStep.getTimeSpent());
+    }
+    if (!Objects.equals(requestStep.getNotes(), currentStep.getNotes())) {
+      currentStep.setNotes(requestStep.getNotes());
+      update.set(stepPath + "notes", requestStep.getNotes());
+    }
+  }
+
   private void validateJournalOwnership(String ownerName) {
     String loggedInUser = JwtUtil.getLoggedInUser();
     if (!ownerName.equals(loggedInUser)) {
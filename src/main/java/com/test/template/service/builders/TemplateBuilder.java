@@ -13,6 +13,7 @@ import com.test.template.models.draft.TemplateDraft;
 import com.test.template.models.enums.ProgressionStatus;
 import com.test.template.models.steps.TemplateStep;
 import com.test.template.models.steps.TrackedStep;
+import com.test.template.models.tracked.StepStatusCounts;
 import com.test.template.models.tracked.TrackedTemplate;
 import lombok.AllArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
@@ -76,7 +77,8 @@ public class TemplateBuilder {
         if (ignoreAbandoned && step.getProgressionStatus().isAbandoned()) {
           return;
         }
-        TemplateStep stepToAdd = completeStepIterator.next();
+        //Copied since the original steps may be shared with other journals through a cached snapshot
+        TemplateStep stepToAdd = completeStepIterator.next().toBuilder().build();
         stepToAdd.setTitle(step.getMarkedUpTitle());
         stepToAdd.setContent(step.getMarkedUpContent());
         stepToAdd.setImageUrl(step.getMarkedUpImage());
@@ -90,7 +92,8 @@ public class TemplateBuilder {
 
   public CompleteTemplate buildTemplateFromDraft(final CreateCompleteTemplateRequest request, final TemplateDraft draft,
       final Category category, final Set<String> tags) {
-    return CompleteTemplate.builder()
+    LocalDateTime now = LocalDateTime.now();
+    CompleteTemplate template = CompleteTemplate.builder()
         .creatorName(draft.getCreatorName())
         .sharedWith(request.getSharedWith())
         .title(draft.getTitle())
@@ -105,8 +108,11 @@ public class TemplateBuilder {
         .steps(draft.getSteps())
         .parentDetails(Objects.nonNull(draft.getParentTemplateId()) ?
             ParentDetails.builder().parentId(draft.getParentTemplateId()).build() : null)
-        .createTime(LocalDateTime.now())
+        .createTime(now)
+        .lastModified(now)
         .build();
+    template.refreshDerivedMetrics();
+    return template;
   }
 
 
@@ -121,11 +127,13 @@ public class TemplateBuilder {
    */
   public TrackedTemplate buildNewTrackedTemplate(final CompleteTemplate completeTemplate, final String username) {
     List<TemplateStep> steps = completeTemplate.getSteps();
+    List<TrackedStep> trackedSteps = steps.stream().map(stepMapper::toEmptyTrackedStep).toList();
     return TrackedTemplate.builder()
         .originalTemplate(templateMapper.toSimpleTemplate(completeTemplate))
         .creationTime(LocalDateTime.now())
         .ownerName(username)
-        .trackedSteps(steps.stream().map(stepMapper::toEmptyTrackedStep).toList())
+        .trackedSteps(trackedSteps)
+        .stepStatusCounts(StepStatusCounts.of(trackedSteps))
         .currentStatus(ProgressionStatus.NOT_STARTED)
         .creationTime(LocalDateTime.now())
         .build();
@@ -0,0 +1,140 @@
+package com.test.template.service.helpers;
+
+import com.test.template.models.categorization.Category;
+import com.test.template.repository.CategoryRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory copy of all categories and their tags. Categories only change through the admin endpoints,
+ * which refresh the catalog after every write. The scheduled refresh picks up writes made by other instances.
+ * Reads load the catalog on demand if it could not be loaded on startup.
+ */
+@Slf4j
+@Component
+public class CategoryCatalog {
+
+  private static final String HASH_ALGORITHM = "SHA-256";
+  private static final String FIELD_SEPARATOR = "\u0000";
+  private static final String ENTRY_SEPARATOR = "\u0001";
+
+  private final CategoryRepository categoryRepository;
+  private volatile CatalogSnapshot snapshot;
+
+  public CategoryCatalog(CategoryRepository categoryRepository) {
+    this.categoryRepository = categoryRepository;
+  }
+
+  @PostConstruct
+  public void load() {
+    try {
+      refresh();
+    } catch (DataAccessException e) {
+      log.warn("Unable to load category catalog, categories will be loaded on first use", e);
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${templates.categories.refresh-interval}",
+      initialDelayString = "${templates.categories.refresh-interval}")
+  public void scheduledRefresh() {
+    try {
+      refresh();
+    } catch (DataAccessException e) {
+      log.warn("Unable to refresh category catalog, serving the previously loaded categories", e);
+    }
+  }
+
+  /**
+   * Reloads every category. The version is only changed if the categories have changed.
+   */
+  public synchronized void refresh() {
+    List<Category> categories = categoryRepository.findAll().stream()
+        .map(CategoryCatalog::copyOf)
+        .toList();
+    CatalogSnapshot current = snapshot;
+    if (Objects.nonNull(current) && current.getCategories().equals(categories)) {
+      return;
+    }
+
+    Map<String, Category> categoriesById = categories.stream()
+        .collect(Collectors.toUnmodifiableMap(Category::getId, Function.identity()));
+    String version = digestOf(categories);
+    log.info("Loaded {} categories into the catalog, version {}", categories.size(), version);
+    snapshot = new CatalogSnapshot(categories, categoriesById, version);
+  }
+
+  public List<Category> getCategories() {
+    return currentSnapshot().getCategories();
+  }
+
+  public Optional<Category> findById(final String categoryId) {
+    return Optional.ofNullable(currentSnapshot().getCategoriesById().get(categoryId));
+  }
+
+  /**
+   * @return a digest which changes whenever the catalog content changes and is equal across instances
+   */
+  public String getVersion() {
+    return currentSnapshot().getVersion();
+  }
+
+  private CatalogSnapshot currentSnapshot() {
+    if (Objects.isNull(snapshot)) {
+      refresh();
+    }
+    return snapshot;
+  }
+
+  //Derived from the content rather than counted, so every instance reports the same version for the same categories.
+  //Tags are sorted, the iteration order of the copied sets differs between instances
+  private static String digestOf(final List<Category> categories) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
+      for (Category category : categories) {
+        String entry = String.join(FIELD_SEPARATOR, category.getId(), category.getCategoryName(),
+            String.join(FIELD_SEPARATOR, new TreeSet<>(category.getChildTags())),
+            String.valueOf(category.getCreationTime()), String.valueOf(category.getUpdateTime()));
+        digest.update((entry + ENTRY_SEPARATOR).getBytes(StandardCharsets.UTF_8));
+      }
+      return HexFormat.of().formatHex(digest.digest());
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(HASH_ALGORITHM + " is not available", e);
+    }
+  }
+
+  //Catalog entries are shared between requests, so tags are copied into an immutable set
+  private static Category copyOf(final Category category) {
+    return Category.builder()
+        .id(category.getId())
+        .categoryName(category.getCategoryName())
+        .childTags(Objects.isNull(category.getChildTags()) ? Set.of() : Set.copyOf(category.getChildTags()))
+        .creationTime(category.getCreationTime())
+        .updateTime(category.getUpdateTime())
+        .build();
+  }
+
+  @Value
+  private static class CatalogSnapshot {
+    List<Category> categories;
+    Map<String, Category> categoriesById;
+    String version;
+  }
+
+}
@@ -0,0 +1,76 @@
+package com.test.template.service.helpers;
+
+import com.test.template.models.complete.CompleteTemplate;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Persists the derived metrics of {@link CompleteTemplate}s created before they were materialized.
+ * Such templates would otherwise never match range filters on approval, duration or completion rate.
+ */
+@Slf4j
+@Component
+@AllArgsConstructor
+public class DerivedMetricsBackfill {
+
+  private static final int BATCH_SIZE = 500;
+
+  private final MongoTemplate mongoTemplate;
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void backfillDerivedMetrics() {
+    Query legacyTemplatesQuery = new Query(Criteria.where("templateMedianDurationSeconds").exists(false));
+    legacyTemplatesQuery.fields().include("completedJournals", "totalJournals", "approvals", "totalEngagements",
+        "steps.minTimeEstimate", "steps.maxTimeEstimate");
+
+    int updated = 0;
+    try (Stream<CompleteTemplate> legacyTemplates = mongoTemplate.stream(legacyTemplatesQuery, CompleteTemplate.class)) {
+      Iterator<CompleteTemplate> iterator = legacyTemplates.iterator();
+      BulkOperations bulkOperations = null;
+      int batched = 0;
+
+      while (iterator.hasNext()) {
+        CompleteTemplate template = iterator.next();
+        template.refreshDerivedMetrics();
+
+        if (bulkOperations == null) {
+          bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CompleteTemplate.class);
+        }
+        bulkOperations.updateOne(new Query(Criteria.where("id").is(template.getId())), new Update()
+            .set("completionRate", template.getCompletionRate())
+            .set("templateApprovalPercent", template.getTemplateApprovalPercent())
+            .set("templateMedianDurationSeconds", template.getTemplateMedianDurationSeconds()));
+
+        if (++batched == BATCH_SIZE) {
+          updated += bulkOperations.execute().getModifiedCount();
+          bulkOperations = null;
+          batched = 0;
+        }
+      }
+
+      if (bulkOperations != null) {
+        updated += bulkOperations.execute().getModifiedCount();
+      }
+    } catch (DataAccessException e) {
+      log.warn("Unable to backfill derived template metrics", e);
+      return;
+    }
+
+    if (updated > 0) {
+      log.info("Backfilled derived metrics for {} templates", updated);
+    }
+  }
+
+}
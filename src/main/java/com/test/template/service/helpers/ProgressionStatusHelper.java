@@ -3,15 +3,14 @@ package com.test.template.service.helpers;
 import com.test.template.exceptions.TemplateException;
 import com.test.template.models.enums.ProgressionStatus;
 import com.test.template.models.steps.TrackedStep;
+import com.test.template.models.tracked.StepStatusCounts;
 import com.test.template.models.tracked.UpdateTrackedTemplateRequest;
 import java.util.Collection;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.function.Supplier;
 
@@ -42,21 +41,11 @@ public class ProgressionStatusHelper {
 
     TrackedStep previousStep = null;
     for (TrackedStep step : steps) {
-      ProgressionStatus currentStatus = step.getProgressionStatus();
-
-      if (currentStatus.isNotApplicableToStep()) {
-        throw new TemplateException(String.format(STATUS_NOT_APPLICABLE_TO_STEP, currentStatus), HttpStatus.BAD_REQUEST);
-      }
+      validateStepApplicability(step);
 
       //Skipped on first iteration or if previous status is optional
       if (Objects.nonNull(previousStep)) {
-        ProgressionStatus previousStatus = previousStep.getProgressionStatus();
-        switch (currentStatus) {
-          case IN_PROGRESS, COMPLETED -> validateStepStatusOrdering(previousStatus::isEffectivelyCompleted,
-              previousStep, currentStatus);
-          case ABANDONED -> validateStepStatusOrdering(previousStatus::canAbandon,
-              previousStep, currentStatus);
-        }
+        validateStepPair(previousStep, step);
       }
       if (!step.getOptional()) {
         previousStep = step;
@@ -64,32 +53,58 @@ public class ProgressionStatusHelper {
     }
   }
 
+  /**
+   * Validates the ordering only around the steps whose status changed, assuming the rest of the steps
+   * were already valid. A changed step is checked against the required step before it and against every
+   * step up to and including the next required one, as those are the only steps it precedes.
+   *
+   * @param changedIndices Indices of the steps with a changed status
+   */
+  public void validateProgressionStepOrdering(final List<TrackedStep> steps, final Collection<Integer> changedIndices) {
+    for (int index : changedIndices) {
+      TrackedStep changedStep = steps.get(index);
+      validateStepApplicability(changedStep);
+
+      for (int previous = index - 1; previous >= 0; previous--) {
+        if (!steps.get(previous).getOptional()) {
+          validateStepPair(steps.get(previous), changedStep);
+          break;
+        }
+      }
+
+      if (changedStep.getOptional()) {
+        continue;
+      }
+      for (int next = index + 1; next < steps.size(); next++) {
+        validateStepPair(changedStep, steps.get(next));
+        if (!steps.get(next).getOptional()) {
+          break;
+        }
+      }
+    }
+  }
+
   public ProgressionStatus aggregateStepProgressionStatus(final List<TrackedStep> steps) {
     //Calculate based on steps that are not optional
-    List<TrackedStep> onlyRequiredSteps = steps.stream().filter(step -> !step.getOptional()).toList();
-    int requiredStepsCount = onlyRequiredSteps.size();
-    Map<ProgressionStatus, Integer> statusCounts = new HashMap<>();
-    onlyRequiredSteps.stream()
-        .map(TrackedStep::getProgressionStatus)
-        .forEach(status -> {
-          statusCounts.putIfAbsent(status, 0);
-          statusCounts.compute(status, (key, val) -> val += 1);
-        });
-
-    if (statusCounts.getOrDefault(ProgressionStatus.ABANDONED, 0) == requiredStepsCount) {
+    return aggregateProgressionStatus(StepStatusCounts.of(steps));
+  }
+
+  public ProgressionStatus aggregateProgressionStatus(final StepStatusCounts statusCounts) {
+    int requiredStepsCount = statusCounts.getRequiredSteps();
+
+    if (statusCounts.getAbandoned() == requiredStepsCount) {
       throw new TemplateException(ALL_STEPS_ABANDONED_ERROR_MESSAGE, HttpStatus.BAD_REQUEST);
     }
 
-    if (statusCounts.getOrDefault(ProgressionStatus.NOT_STARTED, 0) == requiredStepsCount) {
+    if (statusCounts.getNotStarted() == requiredStepsCount) {
       return ProgressionStatus.NOT_STARTED;
     }
 
-    if (statusCounts.getOrDefault(ProgressionStatus.COMPLETED, 0) == requiredStepsCount) {
+    if (statusCounts.getCompleted() == requiredStepsCount) {
       return ProgressionStatus.COMPLETED;
     }
 
-    if (statusCounts.getOrDefault(ProgressionStatus.NOT_STARTED, 0) == 0 &&
-        statusCounts.getOrDefault(ProgressionStatus.IN_PROGRESS, 0) == 0) {
+    if (statusCounts.getNotStarted() == 0 && statusCounts.getInProgress() == 0) {
       return ProgressionStatus.PARTIALLY_COMPLETED;
     }
 
@@ -121,6 +136,24 @@ public class ProgressionStatusHelper {
     log.info("Status {} is applicable as aggregate status for template is {}", requestStatus, aggregateStatus);
   }
 
+  private void validateStepApplicability(final TrackedStep step) {
+    ProgressionStatus currentStatus = step.getProgressionStatus();
+    if (currentStatus.isNotApplicableToStep()) {
+      throw new TemplateException(String.format(STATUS_NOT_APPLICABLE_TO_STEP, currentStatus), HttpStatus.BAD_REQUEST);
+    }
+  }
+
+  private void validateStepPair(final TrackedStep previousStep, final TrackedStep step) {
+    ProgressionStatus previousStatus = previousStep.getProgressionStatus();
+    ProgressionStatus currentStatus = step.getProgressionStatus();
+    switch (currentStatus) {
+      case IN_PROGRESS, COMPLETED -> validateStepStatusOrdering(previousStatus::isEffectivelyCompleted,
+          previousStep, currentStatus);
+      case ABANDONED -> validateStepStatusOrdering(previousStatus::canAbandon,
+          previousStep, currentStatus);
+    }
+  }
+
   /**
    * @param fulfilledCondition Constraint previous step needs to fulfill
    */
@@ -5,19 +5,19 @@ import com.test.template.exceptions.TemplateException;
 import com.test.template.models.complete.CompleteTemplate;
 import com.test.template.models.enums.BranchPermission;
 import com.test.user.models.TemplateUser;
-import com.test.user.models.groups.UserGroup;
-import com.test.user.repository.UserGroupRepository;
+import com.test.user.service.impl.GroupMembershipIndex;
 import lombok.AllArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 
 import java.util.Objects;
+import java.util.Set;
 
 @Component
 @AllArgsConstructor
 public class TemplateAccessHelper {
 
-  private final UserGroupRepository groupRepository;
+  private final GroupMembershipIndex groupMembershipIndex;
 
   public boolean templateCanBeAccessed(CompleteTemplate template) {
     String user = JwtUtil.getLoggedInUser();
@@ -60,9 +60,13 @@ public class TemplateAccessHelper {
   }
 
   private boolean userInTemplateGroup(final String groupId, final String user) {
-    UserGroup associatedGroup = groupRepository.findById(groupId).orElseThrow(
+    //Anonymous callers are never members, the indexed member sets do not accept null lookups
+    if (Objects.isNull(user)) {
+      return false;
+    }
+    Set<String> members = groupMembershipIndex.getMembers(groupId).orElseThrow(
         () -> new TemplateException("Cannot branch from group as template is not associated with any", HttpStatus.INTERNAL_SERVER_ERROR));
-    return associatedGroup.getMembers().contains(user);
+    return members.contains(user);
   }
 
 }
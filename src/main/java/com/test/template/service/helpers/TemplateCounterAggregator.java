@@ -0,0 +1,160 @@
+package com.test.template.service.helpers;
+
+import com.test.template.models.complete.CompleteTemplate;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Write-behind buffer for the view and approval counters of {@link CompleteTemplate}s.
+ * Increments are accumulated per template in {@link LongAdder}s and periodically flushed
+ * as a single unordered bulk write, so a popular template costs one update per flush interval
+ * instead of one update per request.
+ */
+@Slf4j
+@Component
+public class TemplateCounterAggregator {
+
+  private final MongoTemplate mongoTemplate;
+  private final AtomicReference<ConcurrentHashMap<String, TemplateCounters>> activeCounters =
+      new AtomicReference<>(new ConcurrentHashMap<>());
+  //Counters swapped out by the previous flush. Drained once more to pick up increments from
+  //writers which obtained the map right before it was swapped
+  private Map<String, TemplateCounters> retiredCounters = new ConcurrentHashMap<>();
+
+  public TemplateCounterAggregator(MongoTemplate mongoTemplate) {
+    this.mongoTemplate = mongoTemplate;
+  }
+
+  public void incrementViews(final String templateId) {
+    countersFor(templateId).views.increment();
+  }
+
+  public void addApprovals(final String templateId, final int approvals, final int engagements) {
+    TemplateCounters counters = countersFor(templateId);
+    counters.approvals.add(approvals);
+    counters.engagements.add(engagements);
+  }
+
+  @Scheduled(fixedDelayString = "${templates.counters.flush-interval}")
+  public synchronized void flush() {
+    Map<String, TemplateCounters> lateCounters = retiredCounters;
+    retiredCounters = activeCounters.getAndSet(new ConcurrentHashMap<>());
+
+    Map<String, CounterDeltas> pendingDeltas = new HashMap<>();
+    lateCounters.forEach((templateId, counters) -> pendingDeltas.merge(templateId, counters.drain(), CounterDeltas::plus));
+    retiredCounters.forEach((templateId, counters) -> pendingDeltas.merge(templateId, counters.drain(), CounterDeltas::plus));
+    pendingDeltas.values().removeIf(CounterDeltas::isEmpty);
+
+    if (pendingDeltas.isEmpty()) {
+      return;
+    }
+
+    //Bulk write errors reference the failed updates by their index in this list
+    List<String> templateIds = new ArrayList<>(pendingDeltas.keySet());
+    BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CompleteTemplate.class);
+    templateIds.forEach(templateId ->
+        bulkOperations.updateOne(new Query(Criteria.where("id").is(templateId)), buildUpdate(pendingDeltas.get(templateId))));
+
+    try {
+      bulkOperations.execute();
+      log.debug("Flushed counters for {} templates", pendingDeltas.size());
+    } catch (BulkOperationException e) {
+      //Unordered bulk writes apply every update which did not fail, restoring those would count them twice
+      log.warn("Unable to flush counters for {} of {} templates, retrying on next flush", e.getErrors().size(),
+          templateIds.size(), e);
+      e.getErrors().forEach(error -> {
+        String templateId = templateIds.get(error.getIndex());
+        restore(templateId, pendingDeltas.get(templateId));
+      });
+    } catch (DataAccessException e) {
+      log.warn("Unable to flush counters for {} templates, retrying on next flush", pendingDeltas.size(), e);
+      pendingDeltas.forEach(this::restore);
+    }
+  }
+
+  @PreDestroy
+  public void flushOnShutdown() {
+    //Second flush drains the counters retired by the first one
+    flush();
+    flush();
+  }
+
+  private TemplateCounters countersFor(final String templateId) {
+    return activeCounters.get().computeIfAbsent(templateId, id -> new TemplateCounters());
+  }
+
+  private void restore(final String templateId, final CounterDeltas deltas) {
+    TemplateCounters counters = countersFor(templateId);
+    counters.views.add(deltas.getViews());
+    counters.approvals.add(deltas.getApprovals());
+    counters.engagements.add(deltas.getEngagements());
+  }
+
+  private UpdateDefinition buildUpdate(final CounterDeltas deltas) {
+    if (deltas.getApprovals() == 0 && deltas.getEngagements() == 0) {
+      return new Update().inc("views", deltas.getViews());
+    }
+
+    //Approval percent is derived from the counters and has to be recalculated after they are applied.
+    //Counters are not content edits, so the modification time and with it the template ETag stay unchanged
+    return AggregationUpdate.update()
+        .set("views").toValue(ArithmeticOperators.Add.valueOf("views").add(deltas.getViews()))
+        .set("approvals").toValue(ArithmeticOperators.Add.valueOf("approvals").add(deltas.getApprovals()))
+        .set("totalEngagements").toValue(ArithmeticOperators.Add.valueOf("totalEngagements").add(deltas.getEngagements()))
+        .set("templateApprovalPercent").toValue(ConditionalOperators
+            .when(ComparisonOperators.Gt.valueOf("totalEngagements").greaterThanValue(0))
+            .then(ConvertOperators.ToInt.toInt(ArithmeticOperators.Ceil.ceilValueOf(
+                ArithmeticOperators.Multiply.valueOf(
+                    ArithmeticOperators.Divide.valueOf("approvals").divideBy("totalEngagements")).multiplyBy(100))))
+            .otherwise(0));
+  }
+
+  private static class TemplateCounters {
+    private final LongAdder views = new LongAdder();
+    private final LongAdder approvals = new LongAdder();
+    private final LongAdder engagements = new LongAdder();
+
+    private CounterDeltas drain() {
+      return new CounterDeltas(views.sumThenReset(), approvals.sumThenReset(), engagements.sumThenReset());
+    }
+  }
+
+  @Value
+  private static class CounterDeltas {
+    long views;
+    long approvals;
+    long engagements;
+
+    private CounterDeltas plus(CounterDeltas other) {
+      return new CounterDeltas(views + other.views, approvals + other.approvals, engagements + other.engagements);
+    }
+
+    private boolean isEmpty() {
+      return views == 0 && approvals == 0 && engagements == 0;
+    }
+  }
+
+}
@@ -0,0 +1,52 @@
+package com.test.template.service.helpers;
+
+import com.test.template.exceptions.TemplateException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+
+/**
+ * Encodes the (createTime, id) position of the last element of a page into an opaque continuation token.
+ * Create time is truncated to milliseconds as that is the precision it is persisted with.
+ */
+@Component
+public class TemplateCursorCodec {
+
+  private static final String SEPARATOR = "|";
+  private static final String INVALID_CURSOR = "Invalid cursor: %s";
+
+  public String encode(final LocalDateTime createTime, final String id) {
+    String position = createTime.truncatedTo(ChronoUnit.MILLIS) + SEPARATOR + id;
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public TemplateCursor decode(final String cursor) {
+    try {
+      String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      String createTime = StringUtils.substringBefore(position, SEPARATOR);
+      String id = StringUtils.substringAfter(position, SEPARATOR);
+      if (StringUtils.isAnyBlank(createTime, id)) {
+        throw new TemplateException(String.format(INVALID_CURSOR, cursor), HttpStatus.BAD_REQUEST);
+      }
+      return new TemplateCursor(LocalDateTime.parse(createTime), id);
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      throw new TemplateException(String.format(INVALID_CURSOR, cursor), HttpStatus.BAD_REQUEST, e);
+    }
+  }
+
+  @Getter
+  @AllArgsConstructor
+  public static class TemplateCursor {
+    private final LocalDateTime createTime;
+    private final String id;
+  }
+
+}
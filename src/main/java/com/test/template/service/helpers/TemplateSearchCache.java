@@ -0,0 +1,87 @@
+package com.test.template.service.helpers;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.test.template.models.complete.CompleteTemplateFilters;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Short lived cache of public template search results keyed on normalized filters.
+ * Only results which are the same for every caller may be cached here. Cached results are shared
+ * between requests and must not be modified. A maximum size of 0 disables caching, every search then
+ * runs against the database, for example to benchmark the queries themselves.
+ */
+@Slf4j
+@Component
+public class TemplateSearchCache {
+
+  private static final String CACHE_NAME = "templateSearch";
+
+  private final Cache<SearchKey, Object> results;
+  private final boolean enabled;
+
+  public TemplateSearchCache(MeterRegistry meterRegistry,
+                             @Value("${templates.search-cache.maximum-size}") long maximumSize,
+                             @Value("${templates.search-cache.ttl}") Duration ttl) {
+    this.enabled = maximumSize > 0;
+    this.results = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(ttl)
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, results, CACHE_NAME);
+  }
+
+  /**
+   * @param filters Normalized filters, equal searches need to produce equal filters
+   * @param search  Runs the search on a cache miss
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T get(final SearchType type, final CompleteTemplateFilters filters, final Supplier<T> search) {
+    if (!enabled) {
+      return search.get();
+    }
+    return (T) results.get(new SearchKey(type, filters), key -> search.get());
+  }
+
+  /**
+   * Drops every cached result. Inside a transaction the results are dropped again after the commit,
+   * since searches running before the commit can still cache the previous state.
+   */
+  public void invalidateAll() {
+    results.invalidateAll();
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          results.invalidateAll();
+        }
+      });
+    }
+    log.debug("Invalidated cached template search results");
+  }
+
+  public enum SearchType {
+    PAGE,
+    FACETS
+  }
+
+  @EqualsAndHashCode
+  @AllArgsConstructor
+  private static class SearchKey {
+    private final SearchType type;
+    private final CompleteTemplateFilters filters;
+  }
+
+}
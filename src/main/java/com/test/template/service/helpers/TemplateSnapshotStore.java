@@ -0,0 +1,138 @@
+package com.test.template.service.helpers;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.test.template.exceptions.TemplateException;
+import com.test.template.models.complete.SimpleCompleteTemplate;
+import com.test.template.models.enums.JournalStorageMode;
+import com.test.template.models.tracked.TemplateSnapshot;
+import com.test.template.models.tracked.TrackedTemplate;
+import com.test.template.repository.TemplateSnapshotRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Moves the original template of a journal into a shared {@link TemplateSnapshot} and resolves it back on reads.
+ * Journals created with {@link JournalStorageMode#EMBEDDED}, or before snapshots existed, are left untouched.
+ */
+@Slf4j
+@Component
+public class TemplateSnapshotStore {
+
+  private static final String HASH_ALGORITHM = "SHA-256";
+  private static final String SNAPSHOT_HASH_FAILED = "Unable to hash template %s for a journal snapshot";
+
+  private final TemplateSnapshotRepository snapshotRepository;
+  private final ObjectMapper objectMapper;
+  private final JournalStorageMode storageMode;
+  private final Cache<String, SimpleCompleteTemplate> snapshots;
+
+  public TemplateSnapshotStore(TemplateSnapshotRepository snapshotRepository, ObjectMapper objectMapper,
+                               @Value("${templates.journal.storage-mode}") JournalStorageMode storageMode,
+                               @Value("${templates.journal.snapshot-cache.maximum-size}") long maximumSize) {
+    this.snapshotRepository = snapshotRepository;
+    this.objectMapper = objectMapper;
+    this.storageMode = storageMode;
+    this.snapshots = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .build();
+  }
+
+  /**
+   * In {@link JournalStorageMode#REFERENCE} mode stores the original template of a new journal as a snapshot
+   * and replaces it with a stub holding only the fields used for lookups and listings.
+   */
+  public void externalize(final TrackedTemplate journal) {
+    SimpleCompleteTemplate original = journal.getOriginalTemplate();
+    if (storageMode != JournalStorageMode.REFERENCE || Objects.isNull(original)) {
+      return;
+    }
+
+    String snapshotId = hash(original);
+    if (Objects.isNull(snapshots.getIfPresent(snapshotId)) && !snapshotRepository.existsById(snapshotId)) {
+      log.info("Creating snapshot {} of template {}", snapshotId, original.getId());
+      //Snapshots are keyed by content, so a concurrent insert of the same id writes an identical document
+      snapshotRepository.save(TemplateSnapshot.builder()
+          .id(snapshotId)
+          .templateId(original.getId())
+          .template(original)
+          .createTime(LocalDateTime.now())
+          .build());
+    }
+    snapshots.put(snapshotId, copyOf(original));
+
+    journal.setSnapshotId(snapshotId);
+    journal.setOriginalTemplate(SimpleCompleteTemplate.builder()
+        .id(original.getId())
+        .title(original.getTitle())
+        .imageUrl(original.getImageUrl())
+        .creatorName(original.getCreatorName())
+        .parentId(original.getParentId())
+        .build());
+  }
+
+  /**
+   * Replaces the stub of a journal with its full original template.
+   */
+  public void resolve(final TrackedTemplate journal) {
+    resolveAll(List.of(journal));
+  }
+
+  public void resolveAll(final List<TrackedTemplate> journals) {
+    Set<String> snapshotIds = journals.stream()
+        .map(TrackedTemplate::getSnapshotId)
+        .filter(Objects::nonNull)
+        .collect(Collectors.toSet());
+    if (snapshotIds.isEmpty()) {
+      return;
+    }
+
+    Map<String, SimpleCompleteTemplate> resolved = snapshots.getAll(snapshotIds, this::loadSnapshots);
+    for (TrackedTemplate journal : journals) {
+      if (Objects.isNull(journal.getSnapshotId())) {
+        continue;
+      }
+      SimpleCompleteTemplate original = resolved.get(journal.getSnapshotId());
+      if (Objects.isNull(original)) {
+        log.warn("Snapshot {} of journal {} is missing", journal.getSnapshotId(), journal.getId());
+        continue;
+      }
+      journal.setOriginalTemplate(copyOf(original));
+    }
+  }
+
+  //Cached snapshots are shared, so each journal receives its own deep copy which it may change freely
+  private SimpleCompleteTemplate copyOf(final SimpleCompleteTemplate template) {
+    return objectMapper.convertValue(template, SimpleCompleteTemplate.class);
+  }
+
+  private Map<String, SimpleCompleteTemplate> loadSnapshots(final Set<? extends String> snapshotIds) {
+    return snapshotRepository.findAllById(Set.copyOf(snapshotIds)).stream()
+        .collect(Collectors.toMap(TemplateSnapshot::getId, TemplateSnapshot::getTemplate, (first, second) -> first));
+  }
+
+  private String hash(final SimpleCompleteTemplate template) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
+      return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(template)));
+    } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+      throw new TemplateException(String.format(SNAPSHOT_HASH_FAILED, template.getId()),
+          HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+  }
+
+}
@@ -0,0 +1,43 @@
+package com.test.template.service.helpers;
+
+import com.test.template.models.enums.AccessStatus;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * Query counterpart of {@link TemplateAccessHelper#templateCanBeAccessed}. Expresses every template
+ * a user is allowed to see as a single criteria, so visible templates can be listed without loading and
+ * checking them one by one. Each branch of the criteria is covered by its own index.
+ */
+public final class TemplateVisibilityCriteria {
+
+  private static final String ACCESS_STATUS = "accessStatus";
+
+  private TemplateVisibilityCriteria() {
+  }
+
+  /**
+   * @param user   Logged in user or null for anonymous requests, which can only see public templates
+   * @param groups Ids of the groups the user is a member of
+   */
+  public static Criteria visibleTo(final String user, final Collection<String> groups) {
+    Criteria publicTemplates = Criteria.where(ACCESS_STATUS).is(AccessStatus.PUBLIC);
+    if (Objects.isNull(user)) {
+      return publicTemplates;
+    }
+
+    Criteria ownTemplates = Criteria.where("creatorName").is(user)
+        .and(ACCESS_STATUS).in(AccessStatus.PERSONAL, AccessStatus.PRIVATE);
+    Criteria sharedTemplates = Criteria.where("sharedWith").is(user).and(ACCESS_STATUS).is(AccessStatus.PRIVATE);
+
+    if (Objects.isNull(groups) || groups.isEmpty()) {
+      return new Criteria().orOperator(publicTemplates, ownTemplates, sharedTemplates);
+    }
+
+    Criteria groupTemplates = Criteria.where("associatedGroup").in(groups).and(ACCESS_STATUS).is(AccessStatus.GROUP);
+    return new Criteria().orOperator(publicTemplates, ownTemplates, sharedTemplates, groupTemplates);
+  }
+
+}
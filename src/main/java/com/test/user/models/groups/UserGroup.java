@@ -25,6 +25,7 @@ public class UserGroup {
     private String groupNameActual;
     private String description;
     private String creator;
+    @Indexed
     private Set<String> members;
     private Date createdDate;
 
@@ -6,6 +6,9 @@ import org.springframework.data.mongodb.repository.Query;
 import org.springframework.data.mongodb.repository.Update;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface UserGroupRepository extends MongoRepository<UserGroup, String> {
 
@@ -13,4 +16,10 @@ public interface UserGroupRepository extends MongoRepository<UserGroup, String>
     @Update("{$set: {groupName: ?1, description: ?2}}")
     void updateUserGroup(String groupId, String groupName, String description);
 
+    @Query(value = "{_id: ObjectId(?0)}", fields = "{members: 1}")
+    Optional<UserGroup> findMembersById(String groupId);
+
+    @Query(value = "{members: ?0}", fields = "{_id: 1}")
+    List<UserGroup> findIdsByMember(String username);
+
 }
@@ -0,0 +1,68 @@
+package com.test.user.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.test.user.models.groups.UserGroup;
+import com.test.user.repository.UserGroupRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory index of group members used by access checks. Member sets are loaded on first use and
+ * invalidated by {@link UserGroupService} whenever the membership of a group changes. Invalidation only
+ * reaches the local instance, entries expire after the configured ttl so other instances catch up.
+ */
+@Component
+public class GroupMembershipIndex {
+
+  private final UserGroupRepository groupRepository;
+  private final Cache<String, Set<String>> membersByGroup;
+
+  public GroupMembershipIndex(UserGroupRepository groupRepository,
+                              @Value("${groups.membership-index.maximum-size}") long maximumSize,
+                              @Value("${groups.membership-index.ttl}") Duration ttl) {
+    this.groupRepository = groupRepository;
+    this.membersByGroup = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(ttl)
+        .build();
+  }
+
+  /**
+   * @return the members of the group or empty if the group does not exist
+   */
+  public Optional<Set<String>> getMembers(final String groupId) {
+    return Optional.ofNullable(membersByGroup.get(groupId, this::loadMembers));
+  }
+
+  /**
+   * Ids of every group the user is a member of, from the same member sets as {@link #getMembers}.
+   * Not cached, as it is only needed to build visibility queries.
+   */
+  public Set<String> getGroupsOfMember(final String user) {
+    if (Objects.isNull(user)) {
+      return Set.of();
+    }
+    return groupRepository.findIdsByMember(user).stream()
+        .map(UserGroup::getId)
+        .collect(Collectors.toUnmodifiableSet());
+  }
+
+  public void invalidate(final String groupId) {
+    membersByGroup.invalidate(groupId);
+  }
+
+  private Set<String> loadMembers(final String groupId) {
+    return groupRepository.findMembersById(groupId)
+        .map(UserGroup::getMembers)
+        .map(members -> Objects.isNull(members) ? Set.<String>of() : Set.copyOf(members))
+        .orElse(null);
+  }
+
+}
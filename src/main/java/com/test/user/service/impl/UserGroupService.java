@@ -25,6 +25,7 @@ public class UserGroupService implements IUserGroupService {
 
   private final TemplateUserRepository templateUserRepository;
   private final UserGroupRepository groupRepository;
+  private final GroupMembershipIndex groupMembershipIndex;
 
   @Override
   public UserGroup createUserGroup(final UserGroupRequest request) {
@@ -39,6 +40,7 @@ public class UserGroupService implements IUserGroupService {
         .build();
     UserGroup savedGroup = groupRepository.save(createdGroup);
     templateUserRepository.addGroupToUser(user, savedGroup.getId());
+    groupMembershipIndex.invalidate(savedGroup.getId());
     return savedGroup;
   }
 
@@ -56,6 +58,8 @@ public class UserGroupService implements IUserGroupService {
     }
     groupToJoin.getMembers().add(user);
     groupRepository.save(groupToJoin);
+    templateUserRepository.addGroupToUser(user, groupId);
+    groupMembershipIndex.invalidate(groupId);
   }
 
   @Override
@@ -74,6 +78,7 @@ public class UserGroupService implements IUserGroupService {
     groupToLeave.getMembers().remove(user);
     templateUserRepository.pullGroupFromUser(user, groupId);
     groupRepository.save(groupToLeave);
+    groupMembershipIndex.invalidate(groupId);
   }
 
   private UserGroup fetchUserGroup(final String groupId) {
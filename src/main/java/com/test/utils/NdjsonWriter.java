@@ -0,0 +1,65 @@
+package com.test.utils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes elements as newline delimited JSON while they are read, so only a single element
+ * has to be held in memory regardless of how many are written.
+ */
+@Component
+public class NdjsonWriter {
+
+  private static final char LINE_SEPARATOR = '\n';
+
+  private final ObjectMapper objectMapper;
+  //Flushing is left to the output buffer, flushing every element would defeat response compression
+  private final ObjectWriter elementWriter;
+
+  public NdjsonWriter(ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+    this.elementWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+  }
+
+  /**
+   * Wraps the stream in an NDJSON response which is written once the handler returns. The stream is closed
+   * after writing, so it should already be validated and opened by the caller.
+   */
+  public <T> ResponseEntity<StreamingResponseBody> toResponse(final Stream<T> elements) {
+    StreamingResponseBody body = outputStream -> {
+      try (elements) {
+        write(elements, outputStream);
+      }
+    };
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+  }
+
+  /**
+   * Writes every element of the stream on its own line. The output stream is flushed but not closed.
+   */
+  public <T> void write(final Stream<T> elements, final OutputStream outputStream) throws IOException {
+    try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      //Lines are separated explicitly instead of by the default space between root values
+      generator.setRootValueSeparator(null);
+      Iterator<T> iterator = elements.iterator();
+      while (iterator.hasNext()) {
+        elementWriter.writeValue(generator, iterator.next());
+        generator.writeRaw(LINE_SEPARATOR);
+      }
+    }
+    outputStream.flush();
+  }
+
+}
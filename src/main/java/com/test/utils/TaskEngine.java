@@ -0,0 +1,86 @@
+package com.test.utils;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded pool for fire-and-forget background work. When the queue is full the task runs on the
+ * submitting thread, which slows the caller down instead of dropping work. Pending tasks are drained
+ * on shutdown within the configured timeout. The workers stay platform threads when virtual threads are enabled,
+ * as the pool size is what bounds the number of tasks running at once.
+ */
+@Slf4j
+@Component
+public class TaskEngine {
+
+  private static final String THREAD_NAME_PREFIX = "task-engine-";
+  private static final String TYPE_TAG = "type";
+
+  private final ThreadPoolExecutor executor;
+  private final Duration shutdownTimeout;
+  private final Map<TaskType, AtomicInteger> pendingTasks = new EnumMap<>(TaskType.class);
+  private final Map<TaskType, Timer> queueTimers = new EnumMap<>(TaskType.class);
+  private final Map<TaskType, Timer> executionTimers = new EnumMap<>(TaskType.class);
+
+  public TaskEngine(MeterRegistry meterRegistry,
+                    @Value("${templates.tasks.pool-size}") int poolSize,
+                    @Value("${templates.tasks.queue-capacity}") int queueCapacity,
+                    @Value("${templates.tasks.shutdown-timeout}") Duration shutdownTimeout) {
+    this.shutdownTimeout = shutdownTimeout;
+    this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory(THREAD_NAME_PREFIX),
+        new ThreadPoolExecutor.CallerRunsPolicy());
+
+    for (TaskType type : TaskType.values()) {
+      AtomicInteger pending = new AtomicInteger();
+      pendingTasks.put(type, pending);
+      Gauge.builder("task.engine.pending", pending, AtomicInteger::get)
+          .tag(TYPE_TAG, type.name())
+          .register(meterRegistry);
+      queueTimers.put(type, Timer.builder("task.engine.queue.wait").tag(TYPE_TAG, type.name()).register(meterRegistry));
+      executionTimers.put(type, Timer.builder("task.engine.execution").tag(TYPE_TAG, type.name()).register(meterRegistry));
+    }
+    Gauge.builder("task.engine.queue.size", executor, e -> e.getQueue().size()).register(meterRegistry);
+  }
+
+  public void execute(final TaskType type, final Runnable task) {
+    AtomicInteger pending = pendingTasks.get(type);
+    long submittedAt = System.nanoTime();
+    pending.incrementAndGet();
+
+    executor.execute(() -> {
+      pending.decrementAndGet();
+      queueTimers.get(type).record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+      executionTimers.get(type).record(() -> {
+        try {
+          task.run();
+        } catch (RuntimeException e) {
+          log.error("Background task of type {} failed", type, e);
+        }
+      });
+    });
+  }
+
+  @PreDestroy
+  public void shutdown() throws InterruptedException {
+    executor.shutdown();
+    if (!executor.awaitTermination(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+      log.warn("Task engine did not drain within {}, {} tasks dropped", shutdownTimeout,
+          executor.shutdownNow().size());
+    }
+  }
+
+}
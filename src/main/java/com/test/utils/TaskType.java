@@ -0,0 +1,8 @@
+package com.test.utils;
+
+/**
+ * Categories of background work submitted to the {@link TaskEngine}. Used to tag the engine metrics.
+ */
+public enum TaskType {
+    OUTBOX_DISPATCH
+}
@@ -1,15 +0,0 @@
-package com.test.utils;
-
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadPoolExecutor;
-
-public class ThreadExecutor {
-
-    private static final ExecutorService EXECUTOR_SERVICE = Executors.newSingleThreadExecutor();
-
-    public static void executeTask(Runnable r) {
-        EXECUTOR_SERVICE.execute(r);
-    }
-
-}
@@ -0,0 +1,42 @@
+package com.test.utils;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Access to Java 21 virtual threads while the application is still compiled for Java 17.
+ * The thread builder API is looked up reflectively, so older runtimes simply report them as unavailable.
+ */
+public final class VirtualThreads {
+
+  private static final int MIN_JAVA_VERSION = 21;
+
+  private VirtualThreads() {
+  }
+
+  public static boolean isAvailable() {
+    return Runtime.version().feature() >= MIN_JAVA_VERSION;
+  }
+
+  /**
+   * @param namePrefix Prefix of the thread names, followed by a counter
+   * @return Factory of virtual threads, empty on runtimes without them
+   */
+  public static Optional<ThreadFactory> threadFactory(final String namePrefix) {
+    if (!isAvailable()) {
+      return Optional.empty();
+    }
+    try {
+      //Thread.ofVirtual().name(namePrefix, 0).factory()
+      Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+      Method name = builderType.getMethod("name", String.class, long.class);
+      Method factory = builderType.getMethod("factory");
+      Object builder = name.invoke(Thread.class.getMethod("ofVirtual").invoke(null), namePrefix, 0L);
+      return Optional.of((ThreadFactory) factory.invoke(builder));
+    } catch (ReflectiveOperationException e) {
+      return Optional.empty();
+    }
+  }
+
+}
@@ -0,0 +1,69 @@
+package com.test.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Sends GET requests to a running instance while keeping a fixed number of them in flight.
+ */
+final class LoadRunner {
+
+  private LoadRunner() {
+  }
+
+  static Result run(HttpClient client, URI uri, int concurrency, int requests) throws InterruptedException {
+    Semaphore inFlight = new Semaphore(concurrency);
+    AtomicInteger errors = new AtomicInteger();
+    long[] latencies = new long[requests];
+    List<CompletableFuture<?>> responses = new ArrayList<>(requests);
+    HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build();
+
+    long start = System.nanoTime();
+    for (int i = 0; i < requests; i++) {
+      int index = i;
+      inFlight.acquire();
+      long sent = System.nanoTime();
+      responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+          .whenComplete((response, exception) -> {
+            latencies[index] = System.nanoTime() - sent;
+            if (exception != null || response.statusCode() != 200) {
+              errors.incrementAndGet();
+            }
+            inFlight.release();
+          }));
+    }
+    CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).exceptionally(exception -> null).join();
+    long elapsed = System.nanoTime() - start;
+
+    Arrays.sort(latencies);
+    return new Result(requests * 1_000_000_000.0 / elapsed, percentile(latencies, 50), percentile(latencies, 95),
+        percentile(latencies, 99), errors.get());
+  }
+
+  private static double percentile(long[] sortedLatencies, int percentile) {
+    int index = (int) Math.ceil(percentile / 100.0 * sortedLatencies.length) - 1;
+    return sortedLatencies[Math.max(index, 0)] / 1_000_000.0;
+  }
+
+  @Getter
+  @AllArgsConstructor
+  static class Result {
+    private final double throughput;
+    private final double p50;
+    private final double p95;
+    private final double p99;
+    private final int errors;
+  }
+
+}
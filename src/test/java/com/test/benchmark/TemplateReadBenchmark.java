@@ -0,0 +1,62 @@
+package com.test.benchmark;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares the blocking MVC template reads with their reactive counterparts under /v1/reactive on a running
+ * instance. Every endpoint receives the same number of requests with the same amount of them in flight.
+ * The difference shows once the concurrency exceeds the servlet thread pool (200 by default).
+ * <p>
+ * The reactive reads bypass {@code TemplateSearchCache}, so start the instance with
+ * {@code --templates.search-cache.maximum-size=0} for the blocking reads to query the database as well.
+ * Otherwise the repeated "page" and "filtered" requests compare cache hits with database round trips.
+ * <p>
+ * Not a test, run manually: {@code TemplateReadBenchmark [baseUrl] [concurrency] [requests] [templateId]}
+ */
+public class TemplateReadBenchmark {
+
+  private static final String DEFAULT_BASE_URL = "http://localhost:8080";
+  private static final int DEFAULT_CONCURRENCY = 400;
+  private static final int DEFAULT_REQUESTS = 10_000;
+  private static final int WARMUP_REQUESTS = 500;
+  private static final String FILTERS = "{\"categoryName\":\"Health\",\"elementsPerPage\":20}";
+
+  public static void main(String[] args) throws Exception {
+    String baseUrl = args.length > 0 ? args[0] : DEFAULT_BASE_URL;
+    int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_CONCURRENCY;
+    int requests = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_REQUESTS;
+
+    Map<String, String> endpoints = new LinkedHashMap<>();
+    endpoints.put("page", "/templates/complete?page=0&elementsPerPage=20");
+    endpoints.put("filtered", "/templates/complete/filtered?filters="
+        + URLEncoder.encode(FILTERS, StandardCharsets.UTF_8));
+    if (args.length > 3) {
+      endpoints.put("byId", "/templates/complete/" + args[3]);
+    }
+
+    HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    System.out.printf("%-10s %-9s %10s %9s %9s %9s %7s%n", "endpoint", "stack", "req/s", "p50 ms", "p95 ms",
+        "p99 ms", "errors");
+    for (Map.Entry<String, String> endpoint : endpoints.entrySet()) {
+      URI mvcUri = URI.create(baseUrl + "/v1" + endpoint.getValue());
+      URI reactiveUri = URI.create(baseUrl + "/v1/reactive" + endpoint.getValue());
+
+      LoadRunner.run(client, mvcUri, concurrency, WARMUP_REQUESTS);
+      print(endpoint.getKey(), "mvc", LoadRunner.run(client, mvcUri, concurrency, requests));
+      LoadRunner.run(client, reactiveUri, concurrency, WARMUP_REQUESTS);
+      print(endpoint.getKey(), "reactive", LoadRunner.run(client, reactiveUri, concurrency, requests));
+    }
+  }
+
+  private static void print(String endpoint, String stack, LoadRunner.Result result) {
+    System.out.printf("%-10s %-9s %10.1f %9.2f %9.2f %9.2f %7d%n", endpoint, stack, result.getThroughput(),
+        result.getP50(), result.getP95(), result.getP99(), result.getErrors());
+  }
+
+}
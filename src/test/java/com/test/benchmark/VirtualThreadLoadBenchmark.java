@@ -0,0 +1,43 @@
+package com.test.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Raises the number of concurrent connections against one endpoint of a running instance and reports
+ * throughput and latency for each level. Run it once against an instance started with
+ * {@code templates.virtual-threads.enabled=false} and once with {@code true} (Java 21) to compare both modes.
+ * With platform threads latency climbs once the connections exceed the Tomcat pool (200 by default),
+ * with virtual threads it is bounded by the Mongo connection pool instead.
+ * <p>
+ * Not a test, run manually: {@code VirtualThreadLoadBenchmark [baseUrl] [path] [requestsPerLevel] [connections...]}
+ */
+public class VirtualThreadLoadBenchmark {
+
+  private static final String DEFAULT_BASE_URL = "http://localhost:8080";
+  private static final String DEFAULT_PATH = "/v1/templates/complete?page=0&elementsPerPage=20";
+  private static final int DEFAULT_REQUESTS_PER_LEVEL = 10_000;
+  private static final int[] DEFAULT_CONNECTIONS = {50, 100, 200, 400, 800, 1600};
+  private static final int WARMUP_REQUESTS = 1000;
+
+  public static void main(String[] args) throws Exception {
+    String baseUrl = args.length > 0 ? args[0] : DEFAULT_BASE_URL;
+    URI uri = URI.create(baseUrl + (args.length > 1 ? args[1] : DEFAULT_PATH));
+    int requests = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_REQUESTS_PER_LEVEL;
+    int[] connections = args.length > 3
+        ? Arrays.stream(args, 3, args.length).mapToInt(Integer::parseInt).toArray() : DEFAULT_CONNECTIONS;
+
+    HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    LoadRunner.run(client, uri, connections[0], WARMUP_REQUESTS);
+
+    System.out.printf("%-12s %10s %9s %9s %9s %7s%n", "connections", "req/s", "p50 ms", "p95 ms", "p99 ms", "errors");
+    for (int concurrency : connections) {
+      LoadRunner.Result result = LoadRunner.run(client, uri, concurrency, requests);
+      System.out.printf("%-12d %10.1f %9.2f %9.2f %9.2f %7d%n", concurrency, result.getThroughput(),
+          result.getP50(), result.getP95(), result.getP99(), result.getErrors());
+    }
+  }
+
+}
@@ -0,0 +1,210 @@
+package com.test.outbox.service;
+
+import com.mongodb.client.result.UpdateResult;
+import com.test.outbox.models.OutboxEvent;
+import com.test.outbox.models.OutboxEventStatus;
+import com.test.outbox.models.OutboxEventType;
+import com.test.outbox.models.PendingEffect;
+import com.test.outbox.repository.OutboxEventRepository;
+import com.test.template.models.complete.CompleteTemplate;
+import com.test.template.models.draft.TemplateDraft;
+import com.test.template.repository.TemplateDraftRepository;
+import com.test.template.repository.TrackedTemplateRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import static com.test.utils.ObjectsUtil.ID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxDispatcherTest {
+
+  private static final String EVENT_ID = "eventId";
+  private static final int MAX_ATTEMPTS = 3;
+
+  @Mock
+  private OutboxEventRepository outboxEventRepository;
+  @Mock
+  private TemplateDraftRepository draftRepository;
+  @Mock
+  private TrackedTemplateRepository trackedTemplateRepository;
+  @Mock
+  private MongoTemplate mongoTemplate;
+
+  private OutboxDispatcher outboxDispatcher;
+
+  @BeforeEach
+  void setUp() {
+    outboxDispatcher = new OutboxDispatcher(outboxEventRepository, draftRepository, trackedTemplateRepository,
+        mongoTemplate, 10, MAX_ATTEMPTS, Duration.ofSeconds(5), Duration.ofMinutes(2));
+  }
+
+  @Test
+  void dispatch_PendingEvents_HandledAndRemoved() {
+    OutboxEvent deleteDraft = createEvent(OutboxEventType.DELETE_DRAFT, 0);
+    OutboxEvent incrementBranches = createEvent(OutboxEventType.INCREMENT_BRANCHES, 0);
+    incrementBranches.setId("secondEventId");
+    mockClaims(deleteDraft, incrementBranches);
+
+    outboxDispatcher.dispatch();
+
+    //Effects still pending on the draft are relayed before it is deleted
+    verify(mongoTemplate, times(2)).find(any(Query.class), eq(TemplateDraft.class));
+    verify(draftRepository).deleteById(ID);
+    verify(mongoTemplate).updateFirst(any(Query.class), any(Update.class), eq(CompleteTemplate.class));
+    verify(outboxEventRepository).deleteAllById(List.of(EVENT_ID, "secondEventId"));
+    verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), eq(OutboxEvent.class));
+  }
+
+  @Test
+  void dispatch_PendingEffects_MovedIntoOutbox() {
+    PendingEffect effect = PendingEffect.of(OutboxEventType.DELETE_DRAFT, ID);
+    CompleteTemplate template = new CompleteTemplate();
+    template.setId(ID);
+    template.setPendingEffects(List.of(effect));
+    ArgumentCaptor<Query> upsertCaptor = ArgumentCaptor.forClass(Query.class);
+    ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
+    when(mongoTemplate.find(any(Query.class), eq(CompleteTemplate.class))).thenReturn(List.of(template));
+    when(mongoTemplate.find(any(Query.class), eq(TemplateDraft.class))).thenReturn(List.of());
+
+    outboxDispatcher.dispatch();
+
+    verify(mongoTemplate).upsert(upsertCaptor.capture(), any(Update.class), eq(OutboxEvent.class));
+    assertEquals(effect.getEffectId(), upsertCaptor.getValue().getQueryObject().get("id"));
+    verify(mongoTemplate, times(2)).updateFirst(any(Query.class), updateCaptor.capture(), eq(CompleteTemplate.class));
+    assertTrue(updateCaptor.getAllValues().get(0).getUpdateObject().containsKey("$pull"));
+    assertTrue(updateCaptor.getAllValues().get(1).getUpdateObject().containsKey("$unset"));
+  }
+
+  @Test
+  void dispatch_HandlerFails_RetryScheduled() {
+    OutboxEvent event = createEvent(OutboxEventType.DELETE_JOURNAL, 0);
+    LocalDateTime leaseExpiry = LocalDateTime.now().plusMinutes(2);
+    event.setStatus(OutboxEventStatus.PROCESSING);
+    event.setLeaseExpiry(leaseExpiry);
+    ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+    mockClaims(event);
+    mockRetryUpdate();
+    doThrow(new IllegalStateException("failure")).when(trackedTemplateRepository).deleteById(ID);
+
+    outboxDispatcher.dispatch();
+
+    //Only recorded while the claim is still held
+    verify(mongoTemplate).updateFirst(queryCaptor.capture(), any(Update.class), eq(OutboxEvent.class));
+    Document claimed = queryCaptor.getValue().getQueryObject();
+    assertEquals(EVENT_ID, claimed.get("id"));
+    assertEquals(OutboxEventStatus.PROCESSING, claimed.get("status"));
+    assertEquals(leaseExpiry, claimed.get("leaseExpiry"));
+    verify(outboxEventRepository, never()).deleteAllById(any());
+    assertEquals(1, event.getAttempts());
+    assertEquals(OutboxEventStatus.PENDING, event.getStatus());
+    assertTrue(event.getNextAttemptTime().isAfter(LocalDateTime.now()));
+  }
+
+  @Test
+  void dispatch_AttemptsExhausted_MarkedFailed() {
+    OutboxEvent event = createEvent(OutboxEventType.DELETE_JOURNAL, MAX_ATTEMPTS - 1);
+    mockClaims(event);
+    mockRetryUpdate();
+    doThrow(new IllegalStateException("failure")).when(trackedTemplateRepository).deleteById(ID);
+
+    outboxDispatcher.dispatch();
+
+    assertEquals(OutboxEventStatus.FAILED, event.getStatus());
+    assertEquals("failure", event.getLastError());
+  }
+
+  @Test
+  void dispatch_PendingOrExpiredEvents_ClaimedWithLease() {
+    ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+    ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
+    when(mongoTemplate.findAndModify(queryCaptor.capture(), updateCaptor.capture(), any(FindAndModifyOptions.class),
+        eq(OutboxEvent.class))).thenReturn(null);
+
+    outboxDispatcher.dispatch();
+
+    List<?> claimable = queryCaptor.getValue().getQueryObject().get("$or", List.class);
+    assertEquals(OutboxEventStatus.PENDING, ((Document) claimable.get(0)).get("status"));
+    assertEquals(OutboxEventStatus.PROCESSING, ((Document) claimable.get(1)).get("status"));
+    assertTrue(((Document) claimable.get(1)).containsKey("leaseExpiry"));
+    Document claim = updateCaptor.getValue().getUpdateObject().get("$set", Document.class);
+    assertEquals(OutboxEventStatus.PROCESSING, claim.get("status"));
+    assertTrue(((LocalDateTime) claim.get("leaseExpiry")).isAfter(LocalDateTime.now()));
+    verify(outboxEventRepository, never()).deleteAllById(any());
+  }
+
+  @Test
+  void dispatch_IncrementBranches_SkippedIfEventAlreadyApplied() {
+    OutboxEvent event = createEvent(OutboxEventType.INCREMENT_BRANCHES, 0);
+    ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+    ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
+    mockClaims(event);
+
+    outboxDispatcher.dispatch();
+
+    verify(mongoTemplate).updateFirst(queryCaptor.capture(), updateCaptor.capture(), eq(CompleteTemplate.class));
+    assertEquals(new Document("$ne", EVENT_ID), queryCaptor.getValue().getQueryObject().get("appliedBranchEvents"));
+    assertTrue(updateCaptor.getValue().getUpdateObject().containsKey("$push"));
+  }
+
+  @Test
+  void dispatch_HandlerFails_LeaseReleased() {
+    OutboxEvent event = createEvent(OutboxEventType.DELETE_JOURNAL, 0);
+    event.setStatus(OutboxEventStatus.PROCESSING);
+    event.setLeaseExpiry(LocalDateTime.now().plusMinutes(2));
+    mockClaims(event);
+    mockRetryUpdate();
+    doThrow(new IllegalStateException("failure")).when(trackedTemplateRepository).deleteById(ID);
+
+    outboxDispatcher.dispatch();
+
+    assertEquals(OutboxEventStatus.PENDING, event.getStatus());
+    assertNull(event.getLeaseExpiry());
+  }
+
+  //Hands out the events one claim at a time, as findAndModify does, followed by no further claimable events
+  private void mockClaims(OutboxEvent... events) {
+    OutboxEvent[] remaining = Arrays.copyOf(events, events.length + 1);
+    when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+        eq(OutboxEvent.class))).thenReturn(remaining[0], Arrays.copyOfRange(remaining, 1, remaining.length));
+  }
+
+  private void mockRetryUpdate() {
+    when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(OutboxEvent.class)))
+        .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+  }
+
+  private OutboxEvent createEvent(OutboxEventType type, int attempts) {
+    return OutboxEvent.builder()
+        .id(EVENT_ID)
+        .type(type)
+        .targetId(ID)
+        .status(OutboxEventStatus.PENDING)
+        .attempts(attempts)
+        .nextAttemptTime(LocalDateTime.now())
+        .build();
+  }
+
+}
@@ -0,0 +1,41 @@
+package com.test.security.jwt;
+
+import com.test.security.exceptions.JwtAuthenticationException;
+import io.jsonwebtoken.Claims;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+import static com.test.utils.ObjectsUtil.USER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+
+class VerifiedTokenCacheTest {
+
+  private final VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache(100, Duration.ofHours(1));
+
+  @Test
+  void verify_ValidToken_ParsedOnce() {
+    String token = JwtUtil.generateToken(USER);
+
+    try (MockedStatic<JwtUtil> jwtUtil = Mockito.mockStatic(JwtUtil.class, Mockito.CALLS_REAL_METHODS)) {
+      Claims first = verifiedTokenCache.verify(token);
+      Claims second = verifiedTokenCache.verify(token);
+
+      assertEquals(USER, first.getSubject());
+      assertSame(first, second);
+      jwtUtil.verify(() -> JwtUtil.parseClaims(anyString()), times(1));
+    }
+  }
+
+  @Test
+  void verify_InvalidToken_ThrowsAndNotCached() {
+    assertThrows(JwtAuthenticationException.class, () -> verifiedTokenCache.verify("invalid"));
+    assertThrows(JwtAuthenticationException.class, () -> verifiedTokenCache.verify("invalid"));
+  }
+
+}
@@ -0,0 +1,65 @@
+package com.test.security.users.service.impl;
+
+import com.test.security.users.model.UserDetailsImpl;
+import com.test.security.users.repository.UserDetailsRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static com.test.utils.ObjectsUtil.USER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserDetailsServiceImplTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @Mock
+  private UserDetailsRepository userDetailsRepository;
+
+  private UserDetailsServiceImpl userDetailsService;
+
+  @BeforeEach
+  void setUp() {
+    userDetailsService = new UserDetailsServiceImpl(userDetailsRepository, meterRegistry, 100, Duration.ofMinutes(5));
+    when(userDetailsRepository.getUserDetailsImplByUsername(USER))
+        .thenReturn(Optional.of(new UserDetailsImpl(USER, "password")));
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void authenticateUser_RepeatedRequests_LoadedOnce() {
+    userDetailsService.authenticateUser(USER, new MockHttpServletRequest());
+    userDetailsService.authenticateUser(USER, new MockHttpServletRequest());
+
+    verify(userDetailsRepository, times(1)).getUserDetailsImplByUsername(USER);
+    assertEquals(USER, SecurityContextHolder.getContext().getAuthentication().getName());
+    assertEquals(1, meterRegistry.get("cache.gets").tag("cache", "userDetails").tag("result", "hit")
+        .functionCounter().count());
+  }
+
+  @Test
+  void evictUser_CachedUser_Reloaded() {
+    userDetailsService.authenticateUser(USER, new MockHttpServletRequest());
+    userDetailsService.evictUser(USER);
+    userDetailsService.authenticateUser(USER, new MockHttpServletRequest());
+
+    verify(userDetailsRepository, times(2)).getUserDetailsImplByUsername(USER);
+  }
+
+}
@@ -3,6 +3,7 @@ package com.test.services.helpers;
 import com.test.template.exceptions.TemplateException;
 import com.test.template.models.enums.ProgressionStatus;
 import com.test.template.models.steps.TrackedStep;
+import com.test.template.models.tracked.StepStatusCounts;
 import com.test.template.service.helpers.ProgressionStatusHelper;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
@@ -84,6 +85,49 @@ public class ProgressionStatusHelperTest {
         expectProgressionStatusExceptionWithOptional(new ProgressionStatus[]{IN_PROGRESS, ABANDONED, COMPLETED}, message);
     }
 
+    @Test
+    public void validateChangedStatusSuccess() {
+        List<TrackedStep> steps = createStatusesList(new ProgressionStatus[]{COMPLETED, IN_PROGRESS, NOT_STARTED});
+        progressionStatusHelper.validateProgressionStepOrdering(steps, List.of(1));
+
+        steps = createOptionalStatusesList(new ProgressionStatus[]{COMPLETED, IN_PROGRESS, IN_PROGRESS});
+        progressionStatusHelper.validateProgressionStepOrdering(steps, List.of(1));
+    }
+
+    @Test
+    public void validateChangedStatusException() {
+        //Changed step checked against the required step before it
+        List<TrackedStep> steps = createStatusesList(new ProgressionStatus[]{COMPLETED, NOT_STARTED, IN_PROGRESS});
+        TemplateException caught = assertThrows(TemplateException.class,
+                () -> progressionStatusHelper.validateProgressionStepOrdering(steps, List.of(2)));
+        assertEquals(String.format(STATUS_ORDER_ERROR, NOT_STARTED, IN_PROGRESS), caught.getMessage());
+
+        //Changed step checked against the steps it precedes
+        caught = assertThrows(TemplateException.class,
+                () -> progressionStatusHelper.validateProgressionStepOrdering(steps, List.of(1)));
+        assertEquals(String.format(STATUS_ORDER_ERROR, NOT_STARTED, IN_PROGRESS), caught.getMessage());
+
+        List<TrackedStep> optionalSteps = createOptionalStatusesList(new ProgressionStatus[]{NOT_STARTED, ABANDONED, IN_PROGRESS});
+        caught = assertThrows(TemplateException.class,
+                () -> progressionStatusHelper.validateProgressionStepOrdering(optionalSteps, List.of(0)));
+        assertEquals(String.format(STATUS_ORDER_ERROR, NOT_STARTED, ABANDONED), caught.getMessage());
+    }
+
+    @Test
+    public void aggregateStatusFromCountsSuccess() {
+        List<TrackedStep> steps = createOptionalStatusesList(new ProgressionStatus[]{IN_PROGRESS, NOT_STARTED, NOT_STARTED});
+        StepStatusCounts counts = StepStatusCounts.of(steps);
+        assertEquals(2, counts.getRequiredSteps());
+        assertEquals(IN_PROGRESS, progressionStatusHelper.aggregateProgressionStatus(counts));
+
+        counts.move(IN_PROGRESS, COMPLETED);
+        counts.move(NOT_STARTED, ABANDONED);
+        assertEquals(PARTIALLY_COMPLETED, progressionStatusHelper.aggregateProgressionStatus(counts));
+
+        counts.move(ABANDONED, COMPLETED);
+        assertEquals(COMPLETED, progressionStatusHelper.aggregateProgressionStatus(counts));
+    }
+
     @Test
     public void aggregateStatusSuccess() {
         expectAggregateStatus(new ProgressionStatus[]{NOT_STARTED, NOT_STARTED, NOT_STARTED}, NOT_STARTED);
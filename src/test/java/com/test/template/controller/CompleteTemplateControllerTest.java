@@ -0,0 +1,92 @@
+package com.test.template.controller;
+
+import com.test.security.configs.SecurityConfiguration;
+import com.test.security.jwt.VerifiedTokenCache;
+import com.test.security.users.service.impl.UserDetailsServiceImpl;
+import com.test.template.models.complete.CompleteTemplate;
+import com.test.template.service.CompleteTemplateService;
+import com.test.utils.NdjsonWriter;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.test.utils.ObjectsUtil.ID;
+import static com.test.utils.ObjectsUtil.createCompleteTemplate;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(CompleteTemplateController.class)
+@Import({SecurityConfiguration.class, VerifiedTokenCache.class, NdjsonWriter.class})
+class CompleteTemplateControllerTest {
+
+  private static final LocalDateTime LAST_MODIFIED = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @MockBean
+  private CompleteTemplateService templateService;
+  @MockBean
+  private UserDetailsServiceImpl userDetailsService;
+
+  @Test
+  void getTemplateById_NoConditionalHeaders_TemplateWithWeakETag() throws Exception {
+    when(templateService.getTemplateById(ID)).thenReturn(createModifiedTemplate());
+
+    mockMvc.perform(get("/v1/templates/complete/{templateId}", ID))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, templateETag()))
+        .andExpect(jsonPath("$.id").value(ID));
+
+    verify(templateService, never()).getTemplateVersion(any());
+  }
+
+  @Test
+  void getTemplateById_MatchingETag_NotModifiedAndViewRegistered() throws Exception {
+    when(templateService.getTemplateVersion(ID)).thenReturn(createModifiedTemplate());
+
+    mockMvc.perform(get("/v1/templates/complete/{templateId}", ID)
+            .header(HttpHeaders.IF_NONE_MATCH, templateETag()))
+        .andExpect(status().isNotModified());
+
+    verify(templateService).registerView(ID);
+    verify(templateService, never()).getTemplateById(any());
+  }
+
+  @Test
+  void getTemplateById_StaleETag_TemplateReturned() throws Exception {
+    CompleteTemplate template = createModifiedTemplate();
+    when(templateService.getTemplateVersion(ID)).thenReturn(template);
+    when(templateService.getTemplateById(ID)).thenReturn(template);
+
+    mockMvc.perform(get("/v1/templates/complete/{templateId}", ID)
+            .header(HttpHeaders.IF_NONE_MATCH, "W/\"0\""))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, templateETag()));
+
+    verify(templateService, never()).registerView(any());
+  }
+
+  private static CompleteTemplate createModifiedTemplate() {
+    CompleteTemplate template = createCompleteTemplate();
+    template.setLastModified(LAST_MODIFIED);
+    return template;
+  }
+
+  private static String templateETag() {
+    return String.format("W/\"%x\"", LAST_MODIFIED.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+  }
+
+}
@@ -0,0 +1,75 @@
+package com.test.template.controller;
+
+import com.test.security.configs.SecurityConfiguration;
+import com.test.security.jwt.JwtUtil;
+import com.test.security.jwt.VerifiedTokenCache;
+import com.test.security.users.service.impl.UserDetailsServiceImpl;
+import com.test.template.service.TrackedTemplateService;
+import com.test.utils.NdjsonWriter;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static com.test.utils.ObjectsUtil.USER;
+import static com.test.utils.ObjectsUtil.createJournal;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(TrackedTemplateController.class)
+@Import({SecurityConfiguration.class, VerifiedTokenCache.class, NdjsonWriter.class})
+class TrackedTemplateControllerTest {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @MockBean
+  private TrackedTemplateService trackedTemplateService;
+  @MockBean
+  private UserDetailsServiceImpl userDetailsService;
+
+  @Test
+  void streamTrackedTemplatesForUser_Authenticated_StreamedAfterAsyncDispatch() throws Exception {
+    mockAuthentication();
+    when(trackedTemplateService.streamJournalsForUser(USER)).thenReturn(Stream.of(createJournal()));
+
+    MvcResult result = mockMvc.perform(get("/v1/users/{username}/templates/journal/stream", USER)
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + JwtUtil.generateToken(USER)))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    mockMvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType("application/x-ndjson"));
+  }
+
+  @Test
+  void streamTrackedTemplatesForUser_NoToken_Unauthorized() throws Exception {
+    mockMvc.perform(get("/v1/users/{username}/templates/journal/stream", USER))
+        .andExpect(status().isUnauthorized());
+  }
+
+  private void mockAuthentication() {
+    doAnswer(invocation -> {
+      SecurityContextHolder.getContext().setAuthentication(
+          new UsernamePasswordAuthenticationToken(invocation.getArgument(0), null, List.of()));
+      return null;
+    }).when(userDetailsService).authenticateUser(eq(USER), any());
+  }
+
+}
@@ -3,6 +3,7 @@ package com.test.template.service;
 import com.test.template.exceptions.TemplateException;
 import com.test.template.models.categorization.Category;
 import com.test.template.repository.CategoryRepository;
+import com.test.template.service.helpers.CategoryCatalog;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -31,6 +32,8 @@ class CategorizationServiceTest {
 
   @Mock
   private CategoryRepository categoryRepository;
+  @Mock
+  private CategoryCatalog categoryCatalog;
 
   @InjectMocks
   private CategorizationService categorizationService;
@@ -39,7 +42,7 @@ class CategorizationServiceTest {
   void getCategories_NoErrors_Success() {
     List<Category> categories = Collections.singletonList(createCategory());
 
-    doReturn(categories).when(categoryRepository).findAll();
+    doReturn(categories).when(categoryCatalog).getCategories();
 
     var result = categorizationService.getCategories();
 
@@ -50,7 +53,7 @@ class CategorizationServiceTest {
   void getCategoryById_ValidId_Success() {
     Category category = createCategory();
 
-    doReturn(Optional.of(category)).when(categoryRepository).findById(anyString());
+    doReturn(Optional.of(category)).when(categoryCatalog).findById(anyString());
 
     var result = categorizationService.getCategoryById("id");
 
@@ -59,7 +62,7 @@ class CategorizationServiceTest {
 
   @Test
   void getCategoryById_InvalidId_Exception() {
-    doReturn(Optional.empty()).when(categoryRepository).findById(anyString());
+    doReturn(Optional.empty()).when(categoryCatalog).findById(anyString());
 
     assertThrows(TemplateException.class, () -> categorizationService.getCategoryById("id"));
   }
@@ -73,6 +76,7 @@ class CategorizationServiceTest {
     categorizationService.createCategory(NEW_CATEGORY_NAME, TAGS);
 
     verify(categoryRepository).save(any(Category.class));
+    verify(categoryCatalog).refresh();
   }
 
   @Test
@@ -95,5 +99,6 @@ class CategorizationServiceTest {
     categorizationService.deleteCategory(CATEGORY_NAME);
 
     verify(categoryRepository).deleteCategoryByCategoryName(CATEGORY_NAME);
+    verify(categoryCatalog).refresh();
   }
 }
\ No newline at end of file
@@ -1,6 +1,10 @@
 package com.test.template.service;
 
+import com.test.outbox.models.OutboxEventType;
+import com.test.outbox.models.PendingEffect;
+import com.test.outbox.service.OutboxService;
 import com.test.template.exceptions.TemplateException;
+import com.test.template.models.CursorPage;
 import com.test.template.models.categorization.Category;
 import com.test.template.models.complete.ChangeAccessRequest;
 import com.test.template.models.complete.CompleteTemplate;
@@ -8,24 +12,32 @@ import com.test.template.models.complete.CompleteTemplateFilters;
 import com.test.template.models.complete.CreateCompleteTemplateRequest;
 import com.test.template.models.draft.TemplateDraft;
 import com.test.template.models.enums.AccessStatus;
-import com.test.template.repository.CategoryRepository;
+import com.test.template.models.facets.TemplateFacets;
+import com.test.template.models.summary.TemplateSummary;
 import com.test.template.repository.CompleteTemplateRepository;
 import com.test.template.repository.TemplateDraftRepository;
 import com.test.template.service.builders.TemplateBuilder;
+import com.test.template.service.helpers.CategoryCatalog;
 import com.test.template.service.helpers.TemplateAccessHelper;
+import com.test.template.service.helpers.TemplateCounterAggregator;
+import com.test.template.service.helpers.TemplateSearchCache;
 import com.test.template.validation.AccessValidator;
 import com.test.user.models.TemplateUser;
 import com.test.user.repository.TemplateUserRepository;
+import com.test.user.service.impl.GroupMembershipIndex;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -34,7 +46,10 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 
@@ -42,6 +57,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import static com.test.utils.ObjectsUtil.CATEGORY_ID;
 import static com.test.utils.ObjectsUtil.ID;
 import static com.test.utils.ObjectsUtil.SECOND_USER;
+import static com.test.utils.ObjectsUtil.TITLE;
 import static com.test.utils.ObjectsUtil.USER;
 import static com.test.utils.ObjectsUtil.createCategory;
 import static com.test.utils.ObjectsUtil.createChangeAccessRequest;
@@ -50,12 +66,14 @@ import static com.test.utils.ObjectsUtil.createCompleteTemplateRequest;
 import static com.test.utils.ObjectsUtil.createDraft;
 import static com.test.utils.ObjectsUtil.createUser;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.after;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -76,13 +94,23 @@ class CompleteTemplateServiceTest {
   @Mock
   private TemplateQueryService templateQueryService;
   @Mock
+  private TemplateSummaryQueryService summaryQueryService;
+  @Mock
+  private TemplateCounterAggregator counterAggregator;
+  @Mock
+  private TemplateSearchCache searchCache;
+  @Mock
   private CompleteTemplateRepository templateRepository;
   @Mock
   private TemplateDraftRepository draftRepository;
   @Mock
-  private CategoryRepository categoryRepository;
+  private CategoryCatalog categoryCatalog;
   @Mock
   private TemplateUserRepository userRepository;
+  @Mock
+  private GroupMembershipIndex groupMembershipIndex;
+  @Mock
+  private OutboxService outboxService;
   @InjectMocks
   private CompleteTemplateService completeTemplateService;
 
@@ -109,16 +137,24 @@ class CompleteTemplateServiceTest {
 
     mockSecurity(USER);
     when(draftRepository.findById(ID)).thenReturn(Optional.of(draft));
-    when(categoryRepository.findById(CATEGORY_ID)).thenReturn(Optional.of(createCategory()));
-    when(templateRepository.findById(ID)).thenReturn(Optional.of(template));
+    when(categoryCatalog.findById(CATEGORY_ID)).thenReturn(Optional.of(createCategory()));
+    when(templateRepository.findAccessStatusById(ID)).thenReturn(Optional.of(template));
     when(templateBuilder.buildTemplateFromDraft(any(),any(), any(), any())).thenReturn(template);
     when(templateRepository.insert(template)).thenReturn(template);
 
     var result = completeTemplateService.createTemplateFromDraft(request, ID);
 
     assertEquals(template, result);
-    verify(draftRepository, after(100)).deleteById(ID);
-    verify(templateRepository).incrementBranches(template.getId());
+    //The effects are part of the template insert
+    assertEquals(List.of(OutboxEventType.DELETE_DRAFT, OutboxEventType.INCREMENT_BRANCHES),
+        template.getPendingEffects().stream().map(PendingEffect::getType).toList());
+    assertEquals(List.of(ID, template.getId()),
+        template.getPendingEffects().stream().map(PendingEffect::getTargetId).toList());
+    verify(outboxService).dispatchPendingEffects();
+    verify(searchCache).invalidateAll();
+    verify(accessValidator).validateStatuses(request.getAccessStatus(), request.getBranchPermission());
+    verify(accessValidator).validateStatusInRelationToParent(request.getAccessStatus(), AccessStatus.PUBLIC);
+    verify(templateRepository, never()).findById(ID);
   }
 
   @Test
@@ -130,6 +166,17 @@ class CompleteTemplateServiceTest {
     assertThrows(TemplateException.class, () -> completeTemplateService.createTemplateFromDraft(request, ID));
   }
 
+  @Test
+  void createTemplateFromDraft_InvalidStatuses_RejectedBeforeDraftRead() {
+    CreateCompleteTemplateRequest request = createCompleteTemplateRequest();
+
+    doThrow(new TemplateException("Invalid statuses", HttpStatus.BAD_REQUEST)).when(accessValidator)
+        .validateStatuses(request.getAccessStatus(), request.getBranchPermission());
+
+    assertThrows(TemplateException.class, () -> completeTemplateService.createTemplateFromDraft(request, ID));
+    verify(draftRepository, never()).findById(any());
+  }
+
   @Test
   void createTemplateFromDraft_TooFewSteps_Exception() {
     CreateCompleteTemplateRequest request = createCompleteTemplateRequest();
@@ -169,7 +216,7 @@ class CompleteTemplateServiceTest {
 
     mockSecurity(USER);
     when(draftRepository.findById(ID)).thenReturn(Optional.of(draft));
-    when(categoryRepository.findById(CATEGORY_ID)).thenReturn(Optional.empty());
+    when(categoryCatalog.findById(CATEGORY_ID)).thenReturn(Optional.empty());
 
     assertThrows(TemplateException.class, () -> completeTemplateService.createTemplateFromDraft(request, ID));
   }
@@ -186,7 +233,7 @@ class CompleteTemplateServiceTest {
 
     mockSecurity(USER);
     when(draftRepository.findById(ID)).thenReturn(Optional.of(draft));
-    when(categoryRepository.findById(CATEGORY_ID)).thenReturn(Optional.of(category));
+    when(categoryCatalog.findById(CATEGORY_ID)).thenReturn(Optional.of(category));
 
     assertThrows(TemplateException.class, () -> completeTemplateService.createTemplateFromDraft(request, ID));
   }
@@ -202,6 +249,8 @@ class CompleteTemplateServiceTest {
     completeTemplateService.updateTemplateStatuses(request, ID);
 
     verify(templateRepository).save(template);
+    verify(searchCache).invalidateAll();
+    assertNotNull(template.getLastModified());
   }
 
   @Test
@@ -279,7 +328,7 @@ class CompleteTemplateServiceTest {
     var result = completeTemplateService.getTemplateById(ID);
 
     assertEquals(template, result);
-    verify(templateRepository, after(100)).incrementTemplateViews(ID);
+    verify(counterAggregator).incrementViews(ID);
   }
 
   @Test
@@ -299,6 +348,37 @@ class CompleteTemplateServiceTest {
     assertThrows(TemplateException.class, () -> completeTemplateService.getTemplateById(ID));
   }
 
+  @Test
+  void getTemplateVersion_TemplateExists_NoViewCounted() {
+    CompleteTemplate templateVersion = createCompleteTemplate();
+
+    when(templateRepository.findVersionById(ID)).thenReturn(Optional.of(templateVersion));
+    when(templateAccessHelper.templateCanBeAccessed(templateVersion)).thenReturn(true);
+
+    var result = completeTemplateService.getTemplateVersion(ID);
+
+    assertEquals(templateVersion, result);
+    verify(templateRepository, never()).findById(anyString());
+    verify(counterAggregator, never()).incrementViews(anyString());
+  }
+
+  @Test
+  void getTemplateVersion_TemplateCannotBeAccessed_Exception() {
+    CompleteTemplate templateVersion = createCompleteTemplate();
+
+    when(templateRepository.findVersionById(ID)).thenReturn(Optional.of(templateVersion));
+    when(templateAccessHelper.templateCanBeAccessed(templateVersion)).thenReturn(false);
+
+    assertThrows(TemplateException.class, () -> completeTemplateService.getTemplateVersion(ID));
+  }
+
+  @Test
+  void getTemplateVersion_NoTemplateExists_Exception() {
+    when(templateRepository.findVersionById(ID)).thenReturn(Optional.empty());
+
+    assertThrows(TemplateException.class, () -> completeTemplateService.getTemplateVersion(ID));
+  }
+
   @Test
   void getTemplatesFromCreator_NonZeroPages_Success() {
     List<CompleteTemplate> templates = Collections.singletonList(createCompleteTemplate());
@@ -321,6 +401,31 @@ class CompleteTemplateServiceTest {
     assertEquals(templates, result);
   }
 
+  @Test
+  void streamTemplatesFromCreator_Creator_AllTemplates() {
+    Stream<CompleteTemplate> templates = Stream.of(createCompleteTemplate());
+
+    mockSecurity(USER);
+    when(templateRepository.streamCompleteTemplatesByCreatorName(USER)).thenReturn(templates);
+
+    var result = completeTemplateService.streamTemplatesFromCreator(USER);
+
+    assertEquals(templates, result);
+  }
+
+  @Test
+  void streamTemplatesFromCreator_OtherUser_PublicTemplates() {
+    Stream<CompleteTemplate> templates = Stream.of(createCompleteTemplate());
+
+    mockSecurity(SECOND_USER);
+    when(templateRepository.streamCompleteTemplatesByCreatorNameAndAccessStatus(USER, AccessStatus.PUBLIC))
+        .thenReturn(templates);
+
+    var result = completeTemplateService.streamTemplatesFromCreator(USER);
+
+    assertEquals(templates, result);
+  }
+
   @Test
   void getPublicTemplatesPage_NonZeroPages_Success() {
     Page<CompleteTemplate> templates = Page.empty();
@@ -340,7 +445,7 @@ class CompleteTemplateServiceTest {
     Page<CompleteTemplate> templates = Page.empty();
 
     Sort sortOrder = Sort.by(Sort.Direction.DESC, "createTime");
-    Pageable pageable = PageRequest.of(0, Integer.MAX_VALUE, sortOrder);
+    Pageable pageable = PageRequest.of(0, 20, sortOrder);
 
     when(templateRepository.getAllByAccessStatus(AccessStatus.PUBLIC, pageable)).thenReturn(templates);
 
@@ -349,6 +454,81 @@ class CompleteTemplateServiceTest {
     assertEquals(templates, result);
   }
 
+  @Test
+  void getTemplateSummariesFromCreator_NonZeroPages_PublicOnly() {
+    List<TemplateSummary> summaries = List.of(TemplateSummary.builder().id(ID).build());
+
+    when(summaryQueryService.findTemplateSummariesByCreator(USER, AccessStatus.PUBLIC, PageRequest.of(1, 1)))
+        .thenReturn(summaries);
+
+    var result = completeTemplateService.getTemplateSummariesFromCreator(USER, 1, 1);
+
+    assertEquals(summaries, result);
+  }
+
+  @Test
+  void getTemplateSummariesFromCreator_NoPagesCreator_AllStatuses() {
+    List<TemplateSummary> summaries = List.of(TemplateSummary.builder().id(ID).build());
+
+    mockSecurity(USER);
+    when(summaryQueryService.findTemplateSummariesByCreator(USER, null, null)).thenReturn(summaries);
+
+    var result = completeTemplateService.getTemplateSummariesFromCreator(USER, 0, 0);
+
+    assertEquals(summaries, result);
+  }
+
+  @Test
+  void getTemplateSummariesFromCreator_NoPagesAnonymous_PublicOnly() {
+    List<TemplateSummary> summaries = List.of(TemplateSummary.builder().id(ID).build());
+
+    when(securityContext.getAuthentication()).thenReturn(new AnonymousAuthenticationToken("key", "anonymousUser",
+        AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+    when(summaryQueryService.findTemplateSummariesByCreator(USER, AccessStatus.PUBLIC, null)).thenReturn(summaries);
+
+    var result = completeTemplateService.getTemplateSummariesFromCreator(USER, 0, 0);
+
+    assertEquals(summaries, result);
+  }
+
+  @Test
+  void getPublicTemplateSummariesPage_NoPages_DefaultPageSize() {
+    Page<TemplateSummary> summaries = Page.empty();
+    Pageable pageable = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createTime"));
+
+    when(summaryQueryService.findPublicTemplateSummaries(pageable)).thenReturn(summaries);
+
+    var result = completeTemplateService.getPublicTemplateSummariesPage(0, 0);
+
+    assertEquals(summaries, result);
+  }
+
+  @Test
+  void getPublicTemplatesAfter_ValidCursor_Success() {
+    CursorPage<CompleteTemplate> templates = CursorPage.<CompleteTemplate>builder().content(List.of()).build();
+
+    when(templateQueryService.findPublicTemplatesAfter(ID, 10)).thenReturn(templates);
+
+    var result = completeTemplateService.getPublicTemplatesAfter(ID, 10);
+
+    assertEquals(templates, result);
+  }
+
+  @Test
+  void searchPublicTemplates_ValidSearch_SearchFilterPassed() {
+    Page<CompleteTemplate> templates = Page.empty();
+
+    when(templateQueryService.findCompleteTemplatesFiltered(any())).thenReturn(templates);
+
+    var result = completeTemplateService.searchPublicTemplates(TITLE, 0, 10);
+
+    ArgumentCaptor<CompleteTemplateFilters> filtersCaptor = ArgumentCaptor.forClass(CompleteTemplateFilters.class);
+    verify(templateQueryService).findCompleteTemplatesFiltered(filtersCaptor.capture());
+    assertEquals(templates, result);
+    assertEquals(TITLE, filtersCaptor.getValue().getSearch());
+    assertEquals(10, filtersCaptor.getValue().getElementsPerPage());
+  }
+
   @Test
   void getPublicTemplatesFiltered_ValidFilters_Success() {
     Page<CompleteTemplate> templates = Page.empty();
@@ -360,6 +540,34 @@ class CompleteTemplateServiceTest {
     assertEquals(templates, result);
   }
 
+  @Test
+  void getVisibleTemplatesFiltered_LoggedInUser_UserGroupsPassed() {
+    Page<CompleteTemplate> templates = Page.empty();
+    CompleteTemplateFilters filters = new CompleteTemplateFilters();
+
+    mockSecurity(USER);
+    when(groupMembershipIndex.getGroupsOfMember(USER)).thenReturn(Set.of(ID));
+    when(templateQueryService.findVisibleTemplatesFiltered(filters, USER, Set.of(ID))).thenReturn(templates);
+
+    var result = completeTemplateService.getVisibleTemplatesFiltered(filters);
+
+    assertEquals(templates, result);
+  }
+
+  @Test
+  void getVisibleTemplateFacets_LoggedInUser_UserGroupsPassed() {
+    TemplateFacets facets = TemplateFacets.builder().total(1).build();
+    CompleteTemplateFilters filters = new CompleteTemplateFilters();
+
+    mockSecurity(USER);
+    when(groupMembershipIndex.getGroupsOfMember(USER)).thenReturn(Set.of(ID));
+    when(templateQueryService.findVisibleTemplateFacets(filters, USER, Set.of(ID))).thenReturn(facets);
+
+    var result = completeTemplateService.getVisibleTemplateFacets(filters);
+
+    assertEquals(facets, result);
+  }
+
   @Test
   void alterApprovals_NoUserFound_NoInteractions() {
     mockSecurity(USER);
@@ -367,7 +575,7 @@ class CompleteTemplateServiceTest {
 
     completeTemplateService.alterApprovals(ID, true);
 
-    verify(templateRepository, never()).incrementApprovalsAndEngagements(anyString(), anyInt(), anyInt());
+    verify(counterAggregator, never()).addApprovals(anyString(), anyInt(), anyInt());
     verify(userRepository, never()).save(any());
   }
 
@@ -380,12 +588,12 @@ class CompleteTemplateServiceTest {
     alterApprovalsBaseTest(false, true);
     alterApprovalsBaseTest(false, false);
 
-    verify(templateRepository).incrementApprovalsAndEngagements(ID, 1, 1);
-    verify(templateRepository).incrementApprovalsAndEngagements(ID, 0, 1);
-    verify(templateRepository).incrementApprovalsAndEngagements(ID, -1, -1);
-    verify(templateRepository).incrementApprovalsAndEngagements(ID, -1, 0);
-    verify(templateRepository).incrementApprovalsAndEngagements(ID, 1, 0);
-    verify(templateRepository).incrementApprovalsAndEngagements(ID, 0, -1);
+    verify(counterAggregator).addApprovals(ID, 1, 1);
+    verify(counterAggregator).addApprovals(ID, 0, 1);
+    verify(counterAggregator).addApprovals(ID, -1, -1);
+    verify(counterAggregator).addApprovals(ID, -1, 0);
+    verify(counterAggregator).addApprovals(ID, 1, 0);
+    verify(counterAggregator).addApprovals(ID, 0, -1);
     verify(userRepository, times(6)).save(any());
   }
 
@@ -410,7 +618,7 @@ class CompleteTemplateServiceTest {
 
     completeTemplateService.updateSharedWith(ID, List.of(SECOND_USER));
 
-    verify(templateRepository, times(1)).updateSharedWith(ID, List.of(SECOND_USER));
+    verify(templateRepository, times(1)).updateSharedWith(eq(ID), eq(List.of(SECOND_USER)), any(LocalDateTime.class));
   }
 
   @Test
@@ -424,6 +632,7 @@ class CompleteTemplateServiceTest {
   void deleteTemplate_AnyId_Success() {
     completeTemplateService.deleteTemplate(ID);
     verify(templateRepository, times(1)).deleteById(ID);
+    verify(searchCache).invalidateAll();
   }
 
   private void mockSecurity(String username) {
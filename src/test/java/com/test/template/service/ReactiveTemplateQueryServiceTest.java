@@ -0,0 +1,171 @@
+package com.test.template.service;
+
+import com.test.template.exceptions.TemplateException;
+import com.test.template.models.complete.CompleteTemplate;
+import com.test.template.models.complete.CompleteTemplateFilters;
+import com.test.template.models.enums.AccessStatus;
+import com.test.template.service.helpers.TemplateCounterAggregator;
+import com.test.user.models.groups.UserGroup;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+
+import static com.test.utils.ObjectsUtil.ID;
+import static com.test.utils.ObjectsUtil.USER;
+import static com.test.utils.ObjectsUtil.createCompleteTemplate;
+import static com.test.utils.ObjectsUtil.createTemplateFilters;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveTemplateQueryServiceTest {
+
+  private Authentication authentication = Mockito.mock(Authentication.class);
+  private SecurityContext securityContext = Mockito.mock(SecurityContext.class);
+  @Mock
+  private ReactiveMongoTemplate reactiveMongoTemplate;
+  @Mock
+  private TemplateQueryService templateQueryService;
+  @Mock
+  private TemplateCounterAggregator counterAggregator;
+
+  @InjectMocks
+  private ReactiveTemplateQueryService reactiveTemplateQueryService;
+
+  @BeforeEach
+  void setUp() {
+    SecurityContextHolder.setContext(securityContext);
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void getTemplateById_TemplateVisible_TemplateReturnedAndViewCounted() {
+    CompleteTemplate template = createCompleteTemplate();
+
+    mockSecurity(USER);
+    when(reactiveMongoTemplate.find(any(Query.class), eq(UserGroup.class))).thenReturn(Flux.empty());
+    when(reactiveMongoTemplate.findOne(any(Query.class), eq(CompleteTemplate.class))).thenReturn(Mono.just(template));
+
+    var result = reactiveTemplateQueryService.getTemplateById(ID).block();
+
+    assertEquals(template, result);
+    verify(counterAggregator).incrementViews(ID);
+    verify(reactiveMongoTemplate, never()).exists(any(Query.class), eq(CompleteTemplate.class));
+  }
+
+  @Test
+  void getTemplateById_TemplateNotVisible_Forbidden() {
+    mockSecurity(USER);
+    when(reactiveMongoTemplate.find(any(Query.class), eq(UserGroup.class))).thenReturn(Flux.empty());
+    when(reactiveMongoTemplate.findOne(any(Query.class), eq(CompleteTemplate.class))).thenReturn(Mono.empty());
+    when(reactiveMongoTemplate.exists(any(Query.class), eq(CompleteTemplate.class))).thenReturn(Mono.just(true));
+
+    var result = reactiveTemplateQueryService.getTemplateById(ID);
+
+    TemplateException exception = assertThrows(TemplateException.class, result::block);
+    assertEquals(HttpStatus.FORBIDDEN, exception.getStatus());
+    verify(counterAggregator, never()).incrementViews(any());
+  }
+
+  @Test
+  void getTemplateById_TemplateMissing_NotFound() {
+    mockSecurity(USER);
+    when(reactiveMongoTemplate.find(any(Query.class), eq(UserGroup.class))).thenReturn(Flux.empty());
+    when(reactiveMongoTemplate.findOne(any(Query.class), eq(CompleteTemplate.class))).thenReturn(Mono.empty());
+    when(reactiveMongoTemplate.exists(any(Query.class), eq(CompleteTemplate.class))).thenReturn(Mono.just(false));
+
+    var result = reactiveTemplateQueryService.getTemplateById(ID);
+
+    TemplateException exception = assertThrows(TemplateException.class, result::block);
+    assertEquals(HttpStatus.NOT_FOUND, exception.getStatus());
+  }
+
+  @Test
+  void getTemplateById_JoinedGroupTemplate_GroupsFromMembersUsed() {
+    CompleteTemplate template = createCompleteTemplate();
+    UserGroup joinedGroup = new UserGroup();
+    joinedGroup.setId("joinedGroup");
+    ArgumentCaptor<Query> groupsCaptor = ArgumentCaptor.forClass(Query.class);
+    ArgumentCaptor<Query> templateCaptor = ArgumentCaptor.forClass(Query.class);
+
+    mockSecurity(USER);
+    when(reactiveMongoTemplate.find(groupsCaptor.capture(), eq(UserGroup.class))).thenReturn(Flux.just(joinedGroup));
+    when(reactiveMongoTemplate.findOne(templateCaptor.capture(), eq(CompleteTemplate.class)))
+        .thenReturn(Mono.just(template));
+
+    var result = reactiveTemplateQueryService.getTemplateById(ID).block();
+
+    assertEquals(template, result);
+    assertEquals(USER, groupsCaptor.getValue().getQueryObject().get("members"));
+    assertTrue(templateCaptor.getValue().getQueryObject().toString().contains("joinedGroup"));
+  }
+
+  @Test
+  void getPublicTemplatesPage_NoPages_DefaultPageOfPublicTemplates() {
+    CompleteTemplate template = createCompleteTemplate();
+    ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+
+    when(reactiveMongoTemplate.find(queryCaptor.capture(), eq(CompleteTemplate.class))).thenReturn(Flux.just(template));
+    when(reactiveMongoTemplate.count(any(Query.class), eq(CompleteTemplate.class))).thenReturn(Mono.just(21L));
+
+    var result = reactiveTemplateQueryService.getPublicTemplatesPage(0, 0).block();
+
+    assertEquals(1, result.getContent().size());
+    assertEquals(21L, result.getTotalElements());
+    assertEquals(20, queryCaptor.getValue().getLimit());
+    assertEquals(AccessStatus.PUBLIC, queryCaptor.getValue().getQueryObject().get("accessStatus"));
+    assertEquals(new Document("createTime", -1), queryCaptor.getValue().getSortObject());
+  }
+
+  @Test
+  void getPublicTemplatesFiltered_ValidFilters_SameQueryAsBlockingSearch() {
+    CompleteTemplateFilters filters = createTemplateFilters();
+    Query filteredQuery = new Query(Criteria.where("accessStatus").is(AccessStatus.PUBLIC));
+    Pageable pageable = PageRequest.of(1, 5);
+
+    when(templateQueryService.buildFilteredQuery(eq(filters), any(Criteria.class))).thenReturn(filteredQuery);
+    when(templateQueryService.buildPageable(filters)).thenReturn(pageable);
+    when(reactiveMongoTemplate.find(filteredQuery, CompleteTemplate.class)).thenReturn(Flux.empty());
+    when(reactiveMongoTemplate.count(any(Query.class), eq(CompleteTemplate.class))).thenReturn(Mono.just(0L));
+
+    var result = reactiveTemplateQueryService.getPublicTemplatesFiltered(filters).block();
+
+    assertEquals(pageable, result.getPageable());
+    assertEquals(5L, filteredQuery.getSkip());
+  }
+
+  private void mockSecurity(String username) {
+    when(securityContext.getAuthentication()).thenReturn(authentication);
+    when(authentication.getName()).thenReturn(username);
+  }
+
+}
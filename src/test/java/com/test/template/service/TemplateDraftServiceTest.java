@@ -1,14 +1,19 @@
 package com.test.template.service;
 
+import com.test.outbox.models.OutboxEventType;
+import com.test.outbox.models.PendingEffect;
+import com.test.outbox.service.OutboxService;
 import com.test.template.exceptions.TemplateException;
 import com.test.template.mappers.TemplateStepMapper;
 import com.test.template.models.draft.PutTemplateDraftRequest;
 import com.test.template.models.draft.TemplateDraft;
 import com.test.template.models.draft.TemplateDraftRequest;
+import com.test.template.models.summary.DraftSummary;
 import com.test.template.models.tracked.TrackedTemplate;
 import com.test.template.repository.TemplateDraftRepository;
 import com.test.template.repository.TrackedTemplateRepository;
 import com.test.template.service.builders.TemplateBuilder;
+import com.test.template.service.helpers.TemplateSnapshotStore;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -21,6 +26,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -42,10 +48,10 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.after;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -61,6 +67,12 @@ class TemplateDraftServiceTest {
   private TemplateDraftRepository draftRepository;
   @Mock
   private TrackedTemplateRepository trackedTemplateRepository;
+  @Mock
+  private OutboxService outboxService;
+  @Mock
+  private TemplateSnapshotStore snapshotStore;
+  @Mock
+  private TemplateSummaryQueryService summaryQueryService;
   @InjectMocks
   private TemplateDraftService templateDraftService;
 
@@ -145,7 +157,10 @@ class TemplateDraftServiceTest {
     var result = templateDraftService.promoteTrackedTemplateToDraft(ID, true, true);
 
     assertEquals(draft, result);
-    verify(trackedTemplateRepository, after(100)).delete(journal);
+    PendingEffect deleteJournal = draft.getPendingEffects().get(0);
+    assertEquals(OutboxEventType.DELETE_JOURNAL, deleteJournal.getType());
+    assertEquals(journal.getId(), deleteJournal.getTargetId());
+    verify(outboxService).dispatchPendingEffects();
   }
 
   @Test
@@ -193,6 +208,26 @@ class TemplateDraftServiceTest {
     verify(draftRepository, never()).getTemplateDraftsByCreatorName(anyString(), any());
   }
 
+  @Test
+  void getDraftSummariesFromCreator_OwnerAndPages_Success() {
+    List<DraftSummary> summaries = List.of(DraftSummary.builder().id(ID).build());
+
+    mockSecurity(USER);
+    when(summaryQueryService.findDraftSummariesByCreator(USER, PageRequest.of(1, 1))).thenReturn(summaries);
+
+    var result = templateDraftService.getDraftSummariesFromCreator(USER, 1, 1);
+
+    assertEquals(summaries, result);
+  }
+
+  @Test
+  void getDraftSummariesFromCreator_NotOwner_Exception() {
+    mockSecurity(USER);
+
+    assertThrows(TemplateException.class, () -> templateDraftService.getDraftSummariesFromCreator(SECOND_USER, 0, 0));
+    verifyNoInteractions(summaryQueryService);
+  }
+
   @Test
   void getTemplateDraftsFromCreator_NotOwner_Exception() {
     mockSecurity(USER);
@@ -268,5 +303,4 @@ class TemplateDraftServiceTest {
     when(securityContext.getAuthentication()).thenReturn(authentication);
     when(authentication.getName()).thenReturn(username);
   }
-
 }
\ No newline at end of file
@@ -1,28 +1,66 @@
 package com.test.template.service;
 
+import com.test.template.exceptions.TemplateException;
 import com.test.template.models.complete.CompleteTemplate;
 import com.test.template.models.complete.CompleteTemplateFilters;
+import com.test.template.models.enums.AccessStatus;
+import com.test.template.models.facets.FacetBucket;
+import com.test.template.models.facets.FacetCount;
+import com.test.template.service.helpers.TemplateCursorCodec;
+import com.test.template.service.helpers.TemplateSearchCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import org.bson.Document;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Query;
 
 
+import static com.test.utils.ObjectsUtil.ID;
+import static com.test.utils.ObjectsUtil.TITLE;
+import static com.test.utils.ObjectsUtil.USER;
 import static com.test.utils.ObjectsUtil.createCompleteTemplate;
 import static com.test.utils.ObjectsUtil.createTemplateFilters;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class TemplateQueryServiceTest {
 
+  private static final String SECOND_ID = "secondId";
+
   @Mock
   private MongoTemplate mongoTemplate;
+  @Spy
+  private TemplateCursorCodec cursorCodec = new TemplateCursorCodec();
+  @Spy
+  private TemplateSearchCache searchCache = new TemplateSearchCache(new SimpleMeterRegistry(), 100,
+      Duration.ofMinutes(1));
 
   @InjectMocks
   private TemplateQueryService templateQueryService;
@@ -60,6 +98,265 @@ class TemplateQueryServiceTest {
     assertEquals(template, result.getContent().get(0));
   }
 
+  @Test
+  void findCompleteTemplatesFiltered_AllFilters_PredicatesPushedToQuery() {
+    CompleteTemplateFilters templateFilters = createTemplateFilters();
+    templateFilters.setCategoryName(null);
+
+    CompleteTemplate template = createCompleteTemplate();
+    when(mongoTemplate.find(any(), any())).thenReturn(Collections.singletonList(template));
+
+    var result = templateQueryService.findCompleteTemplatesFiltered(templateFilters);
+
+    ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+    verify(mongoTemplate).find(queryCaptor.capture(), eq(CompleteTemplate.class));
+    Document queryObject = queryCaptor.getValue().getQueryObject();
+
+    assertEquals(template, result.getContent().get(0));
+    assertTrue(queryObject.get("tags", Document.class).containsKey("$in"));
+    assertEquals(new Document("$gte", 1), queryObject.get("templateApprovalPercent"));
+    assertEquals(new Document("$gt", 5), queryObject.get("completionRate"));
+    assertEquals(new Document("$lte", templateFilters.getMaxCompletionTime().getSeconds()),
+        queryObject.get("templateMedianDurationSeconds"));
+  }
+
+  @Test
+  void findCompleteTemplatesFiltered_PageRequested_SkipLimitAndCountApplied() {
+    CompleteTemplateFilters templateFilters = createTemplateFilters();
+    templateFilters.setPage(2);
+    templateFilters.setElementsPerPage(1);
+    templateFilters.setSortBy("views");
+    templateFilters.setSortDirection(Sort.Direction.ASC);
+
+    CompleteTemplate template = createCompleteTemplate();
+    when(mongoTemplate.find(any(), any())).thenReturn(Collections.singletonList(template));
+    when(mongoTemplate.count(any(Query.class), eq(CompleteTemplate.class))).thenReturn(5L);
+
+    var result = templateQueryService.findCompleteTemplatesFiltered(templateFilters);
+
+    ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+    verify(mongoTemplate).find(queryCaptor.capture(), eq(CompleteTemplate.class));
+
+    assertEquals(2, queryCaptor.getValue().getSkip());
+    assertEquals(1, queryCaptor.getValue().getLimit());
+    assertEquals(1, queryCaptor.getValue().getSortObject().get("views"));
+    assertEquals(5, result.getTotalElements());
+    assertEquals(template, result.getContent().get(0));
+  }
+
+  @Test
+  void findCompleteTemplatesFiltered_SearchPassed_TextQuerySortedByScore() {
+    CompleteTemplateFilters templateFilters = new CompleteTemplateFilters();
+    templateFilters.setSearch(TITLE);
+
+    when(mongoTemplate.find(any(), any())).thenReturn(Collections.emptyList());
+
+    templateQueryService.findCompleteTemplatesFiltered(templateFilters);
+
+    ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+    verify(mongoTemplate).find(queryCaptor.capture(), eq(CompleteTemplate.class));
+
+    assertTrue(queryCaptor.getValue().getQueryObject().containsKey("$text"));
+    assertEquals("score", queryCaptor.getValue().getSortObject().keySet().iterator().next());
+  }
+
+  @Test
+  void findCompleteTemplatesFiltered_TitlePassed_EscapedCaseInsensitiveRegex() {
+    CompleteTemplateFilters templateFilters = new CompleteTemplateFilters();
+    templateFilters.setTitle("c++ (basics)");
+
+    when(mongoTemplate.find(any(), any())).thenReturn(Collections.emptyList());
+
+    templateQueryService.findCompleteTemplatesFiltered(templateFilters);
+
+    ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+    verify(mongoTemplate).find(queryCaptor.capture(), eq(CompleteTemplate.class));
+    Pattern titlePattern = (Pattern) queryCaptor.getValue().getQueryObject().get("title");
+
+    assertTrue(titlePattern.matcher("Learning C++ (Basics)").find());
+    assertFalse(titlePattern.matcher("Learning C").find());
+  }
+
+  @Test
+  void findVisibleTemplatesFiltered_LoggedInUser_VisibilityCriteriaApplied() {
+    when(mongoTemplate.find(any(), any())).thenReturn(Collections.emptyList());
+
+    templateQueryService.findVisibleTemplatesFiltered(new CompleteTemplateFilters(), USER, Set.of(ID));
+
+    ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+    verify(mongoTemplate).find(queryCaptor.capture(), eq(CompleteTemplate.class));
+    Document queryObject = queryCaptor.getValue().getQueryObject();
+    List<Document> visibilityBranches = queryObject.getList("$or", Document.class);
+
+    assertFalse(queryObject.containsKey("accessStatus"));
+    assertEquals(4, visibilityBranches.size());
+    assertEquals(AccessStatus.PUBLIC, visibilityBranches.get(0).get("accessStatus"));
+    assertEquals(USER, visibilityBranches.get(1).get("creatorName"));
+    assertEquals(USER, visibilityBranches.get(2).get("sharedWith"));
+    assertEquals(AccessStatus.GROUP, visibilityBranches.get(3).get("accessStatus"));
+  }
+
+  @Test
+  void findVisibleTemplatesFiltered_AnonymousUser_OnlyPublicTemplates() {
+    when(mongoTemplate.find(any(), any())).thenReturn(Collections.emptyList());
+
+    templateQueryService.findVisibleTemplatesFiltered(new CompleteTemplateFilters(), null, Set.of());
+
+    ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+    verify(mongoTemplate).find(queryCaptor.capture(), eq(CompleteTemplate.class));
+
+    assertEquals(AccessStatus.PUBLIC, queryCaptor.getValue().getQueryObject().get("accessStatus"));
+  }
+
+  @Test
+  void findCompleteTemplatesFiltered_UnsupportedSortField_Exception() {
+    CompleteTemplateFilters templateFilters = createTemplateFilters();
+    templateFilters.setSortBy("content");
+
+    assertThrows(TemplateException.class, () -> templateQueryService.findCompleteTemplatesFiltered(templateFilters));
+  }
+
+  @Test
+  void findPublicTemplatesAfter_MoreResultsAvailable_CursorReturned() {
+    CompleteTemplate firstTemplate = createCompleteTemplate();
+    firstTemplate.setCreateTime(LocalDateTime.now());
+    CompleteTemplate secondTemplate = createCompleteTemplate();
+    secondTemplate.setId(SECOND_ID);
+    secondTemplate.setCreateTime(LocalDateTime.now().minusDays(1));
+
+    when(mongoTemplate.find(any(), any())).thenReturn(new ArrayList<>(List.of(firstTemplate, secondTemplate)));
+
+    var result = templateQueryService.findPublicTemplatesAfter(null, 1);
+
+    ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+    verify(mongoTemplate).find(queryCaptor.capture(), eq(CompleteTemplate.class));
+
+    assertEquals(2, queryCaptor.getValue().getLimit());
+    assertEquals(List.of(firstTemplate), result.getContent());
+    assertTrue(result.isHasNext());
+    assertEquals(ID, cursorCodec.decode(result.getNextCursor()).getId());
+  }
+
+  @Test
+  void findPublicTemplatesAfter_CursorPassed_KeysetCriteriaApplied() {
+    String cursor = cursorCodec.encode(LocalDateTime.now(), ID);
+
+    when(mongoTemplate.find(any(), any())).thenReturn(Collections.emptyList());
+
+    var result = templateQueryService.findPublicTemplatesAfter(cursor, 10);
+
+    ArgumentCaptor<Query> queryCaptor = ArgumentCaptor.forClass(Query.class);
+    verify(mongoTemplate).find(queryCaptor.capture(), eq(CompleteTemplate.class));
+
+    assertTrue(queryCaptor.getValue().getQueryObject().containsKey("$or"));
+    assertFalse(result.isHasNext());
+    assertNull(result.getNextCursor());
+  }
+
+  @Test
+  void findCompleteTemplateFacets_MatchingTemplates_FacetsMapped() {
+    Document facets = new Document("total", List.of(new Document("count", 7)))
+        .append("categories", List.of(new Document("_id", TITLE).append("count", 5),
+            new Document("_id", null).append("count", 2)))
+        .append("tags", List.of(new Document("_id", "tag").append("count", 3)))
+        .append("approvalPercent", List.of(new Document("_id", 80L).append("count", 4),
+            new Document("_id", "unknown").append("count", 3)))
+        .append("completionTime", List.of(new Document("_id", 0L).append("count", 6),
+            new Document("_id", Duration.ofDays(30).getSeconds()).append("count", 1)));
+    when(mongoTemplate.aggregate(any(TypedAggregation.class), eq(Document.class)))
+        .thenReturn(new AggregationResults<>(List.of(facets), new Document()));
+
+    var result = templateQueryService.findCompleteTemplateFacets(createTemplateFilters());
+
+    assertEquals(7, result.getTotal());
+    assertEquals(List.of(FacetCount.builder().value(TITLE).count(5).build()), result.getCategories());
+    assertEquals(List.of(FacetCount.builder().value("tag").count(3).build()), result.getTags());
+    assertEquals(List.of(FacetBucket.builder().from(80).to(101L).count(4).build()), result.getApprovalPercent());
+    assertEquals(FacetBucket.builder().from(0).to(Duration.ofHours(1).getSeconds()).count(6).build(),
+        result.getCompletionTime().get(0));
+    assertNull(result.getCompletionTime().get(1).getTo());
+  }
+
+  @Test
+  void findCompleteTemplateFacets_Filters_SameCriteriaMatchedFirst() {
+    CompleteTemplateFilters filters = new CompleteTemplateFilters();
+    filters.setCategoryName(TITLE);
+    when(mongoTemplate.aggregate(any(TypedAggregation.class), eq(Document.class)))
+        .thenReturn(new AggregationResults<>(List.of(), new Document()));
+
+    var result = templateQueryService.findCompleteTemplateFacets(filters);
+
+    ArgumentCaptor<TypedAggregation<?>> aggregationCaptor = ArgumentCaptor.forClass(TypedAggregation.class);
+    verify(mongoTemplate).aggregate(aggregationCaptor.capture(), eq(Document.class));
+    List<Document> pipeline = aggregationCaptor.getValue().toPipeline(Aggregation.DEFAULT_CONTEXT);
+    Document match = pipeline.get(0).get("$match", Document.class);
+    Document facet = pipeline.get(1).get("$facet", Document.class);
+
+    assertEquals(AccessStatus.PUBLIC, match.get("accessStatus"));
+    assertEquals(TITLE, match.get("category"));
+    assertEquals(Set.of("total", "categories", "tags", "approvalPercent", "completionTime"), facet.keySet());
+    assertEquals(0, result.getTotal());
+    assertTrue(result.getCategories().isEmpty());
+  }
+
+  @Test
+  void findCompleteTemplatesFiltered_EquivalentFilters_SearchedOnce() {
+    CompleteTemplateFilters firstFilters = new CompleteTemplateFilters();
+    firstFilters.setTitle(" " + TITLE + " ");
+    firstFilters.setMinApprovalPercent(0);
+    CompleteTemplateFilters secondFilters = new CompleteTemplateFilters();
+    secondFilters.setTitle(TITLE.toUpperCase());
+    secondFilters.setPage(0);
+    secondFilters.setElementsPerPage(20);
+    secondFilters.setSortDirection(Sort.Direction.DESC);
+    when(mongoTemplate.find(any(), any())).thenReturn(Collections.emptyList());
+
+    var firstResult = templateQueryService.findCompleteTemplatesFiltered(firstFilters);
+    var secondResult = templateQueryService.findCompleteTemplatesFiltered(secondFilters);
+
+    assertSame(firstResult, secondResult);
+    verify(mongoTemplate, times(1)).find(any(), eq(CompleteTemplate.class));
+  }
+
+  @Test
+  void findCompleteTemplatesFiltered_DifferentPages_SearchedPerPage() {
+    CompleteTemplateFilters firstFilters = new CompleteTemplateFilters();
+    CompleteTemplateFilters secondFilters = new CompleteTemplateFilters();
+    secondFilters.setPage(1);
+    when(mongoTemplate.find(any(), any())).thenReturn(Collections.emptyList());
+
+    templateQueryService.findCompleteTemplatesFiltered(firstFilters);
+    templateQueryService.findCompleteTemplatesFiltered(secondFilters);
+
+    verify(mongoTemplate, times(2)).find(any(), eq(CompleteTemplate.class));
+  }
+
+  @Test
+  void findCompleteTemplatesFiltered_CacheInvalidated_SearchedAgain() {
+    when(mongoTemplate.find(any(), any())).thenReturn(Collections.emptyList());
+
+    templateQueryService.findCompleteTemplatesFiltered(new CompleteTemplateFilters());
+    searchCache.invalidateAll();
+    templateQueryService.findCompleteTemplatesFiltered(new CompleteTemplateFilters());
+
+    verify(mongoTemplate, times(2)).find(any(), eq(CompleteTemplate.class));
+  }
+
+  @Test
+  void findVisibleTemplatesFiltered_RepeatedSearch_NotCached() {
+    when(mongoTemplate.find(any(), any())).thenReturn(Collections.emptyList());
+
+    templateQueryService.findVisibleTemplatesFiltered(new CompleteTemplateFilters(), USER, Set.of());
+    templateQueryService.findVisibleTemplatesFiltered(new CompleteTemplateFilters(), USER, Set.of());
+
+    verify(mongoTemplate, times(2)).find(any(), eq(CompleteTemplate.class));
+  }
+
+  @Test
+  void findPublicTemplatesAfter_InvalidCursor_Exception() {
+    assertThrows(TemplateException.class, () -> templateQueryService.findPublicTemplatesAfter("not a cursor", 10));
+  }
+
   private void setAdditionalTemplateProperties(CompleteTemplate template) {
     template.setCreateTime(LocalDateTime.now());
     template.setApprovals(10);
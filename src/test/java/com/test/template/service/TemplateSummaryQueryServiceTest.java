@@ -0,0 +1,118 @@
+package com.test.template.service;
+
+import com.test.template.models.enums.AccessStatus;
+import com.test.template.models.summary.DraftSummary;
+import com.test.template.models.summary.JournalSummary;
+import com.test.template.models.summary.TemplateSummary;
+import java.util.List;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+
+import static com.test.utils.ObjectsUtil.ID;
+import static com.test.utils.ObjectsUtil.USER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TemplateSummaryQueryServiceTest {
+
+  @Mock
+  private MongoTemplate mongoTemplate;
+
+  @InjectMocks
+  private TemplateSummaryQueryService summaryQueryService;
+
+  @Test
+  void findPublicTemplateSummaries_Paged_ProjectedAfterPaging() {
+    TemplateSummary summary = TemplateSummary.builder().id(ID).build();
+    when(mongoTemplate.aggregate(any(TypedAggregation.class), eq(TemplateSummary.class)))
+        .thenReturn(new AggregationResults<>(List.of(summary), new Document()));
+
+    var result = summaryQueryService.findPublicTemplateSummaries(
+        PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createTime")));
+
+    assertEquals(List.of(summary), result.getContent());
+    List<Document> pipeline = capturePipeline(TemplateSummary.class);
+    assertEquals(List.of("$match", "$sort", "$skip", "$limit", "$project"),
+        pipeline.stream().map(stage -> stage.keySet().iterator().next()).toList());
+    Document projection = pipeline.get(4).get("$project", Document.class);
+    assertTrue(projection.containsKey("stepCount"));
+    assertFalse(projection.containsKey("steps"));
+    assertFalse(projection.containsKey("content"));
+  }
+
+  @Test
+  void findTemplateSummariesByCreator_AnyStatus_OnlyCreatorMatched() {
+    when(mongoTemplate.aggregate(any(TypedAggregation.class), eq(TemplateSummary.class)))
+        .thenReturn(new AggregationResults<>(List.of(), new Document()));
+
+    summaryQueryService.findTemplateSummariesByCreator(USER, null, null);
+
+    List<Document> pipeline = capturePipeline(TemplateSummary.class);
+    assertEquals(2, pipeline.size());
+    assertEquals(new Document("creatorName", USER), pipeline.get(0).get("$match", Document.class));
+  }
+
+  @Test
+  void findTemplateSummariesByCreator_PublicStatus_StatusMatched() {
+    when(mongoTemplate.aggregate(any(TypedAggregation.class), eq(TemplateSummary.class)))
+        .thenReturn(new AggregationResults<>(List.of(), new Document()));
+
+    summaryQueryService.findTemplateSummariesByCreator(USER, AccessStatus.PUBLIC, PageRequest.of(1, 5));
+
+    List<Document> pipeline = capturePipeline(TemplateSummary.class);
+    Document match = pipeline.get(0).get("$match", Document.class);
+    assertEquals(AccessStatus.PUBLIC, match.get("accessStatus"));
+    assertEquals(5L, ((Number) pipeline.get(1).get("$skip")).longValue());
+  }
+
+  @Test
+  void findDraftSummariesByCreator_NoPages_StepsNotProjected() {
+    when(mongoTemplate.aggregate(any(TypedAggregation.class), eq(DraftSummary.class)))
+        .thenReturn(new AggregationResults<>(List.of(), new Document()));
+
+    summaryQueryService.findDraftSummariesByCreator(USER, null);
+
+    Document projection = capturePipeline(DraftSummary.class).get(1).get("$project", Document.class);
+    assertTrue(projection.containsKey("stepCount"));
+    assertFalse(projection.containsKey("steps"));
+  }
+
+  @Test
+  void findJournalSummariesByOwner_ValidOwner_TitleFallsBackToOriginal() {
+    when(mongoTemplate.aggregate(any(TypedAggregation.class), eq(JournalSummary.class)))
+        .thenReturn(new AggregationResults<>(List.of(), new Document()));
+
+    summaryQueryService.findJournalSummariesByOwner(USER);
+
+    Document projection = capturePipeline(JournalSummary.class).get(1).get("$project", Document.class);
+    assertTrue(projection.containsKey("templateId"));
+    assertTrue(projection.get("title", Document.class).containsKey("$ifNull"));
+    assertFalse(projection.containsKey("trackedSteps"));
+    assertFalse(projection.containsKey("originalTemplate"));
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> List<Document> capturePipeline(Class<T> outputType) {
+    ArgumentCaptor<TypedAggregation<?>> aggregationCaptor = ArgumentCaptor.forClass(TypedAggregation.class);
+    verify(mongoTemplate).aggregate(aggregationCaptor.capture(), eq(outputType));
+    return aggregationCaptor.getValue().toPipeline(Aggregation.DEFAULT_CONTEXT);
+  }
+
+}
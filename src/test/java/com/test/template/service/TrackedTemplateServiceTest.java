@@ -6,30 +6,39 @@ import com.test.template.models.complete.CompleteTemplate;
 import com.test.template.models.enums.ProgressionStatus;
 import com.test.template.models.steps.TemplateStep;
 import com.test.template.models.steps.TrackedStep;
+import com.test.template.models.summary.JournalSummary;
+import com.test.template.models.tracked.StepStatusCounts;
 import com.test.template.models.tracked.TrackedTemplate;
 import com.test.template.models.tracked.UpdateTrackedTemplateRequest;
 import com.test.template.repository.CompleteTemplateRepository;
 import com.test.template.repository.TrackedTemplateRepository;
 import com.test.template.service.builders.TemplateBuilder;
 import com.test.template.service.helpers.ProgressionStatusHelper;
+import com.test.template.service.helpers.TemplateSnapshotStore;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.bson.Document;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 
+import static com.test.utils.ObjectsUtil.CONTENT;
 import static com.test.utils.ObjectsUtil.ID;
 import static com.test.utils.ObjectsUtil.SECOND_USER;
 import static com.test.utils.ObjectsUtil.USER;
@@ -38,12 +47,17 @@ import static com.test.utils.ObjectsUtil.createJournal;
 import static com.test.utils.ObjectsUtil.createTrackedStepsList;
 import static com.test.utils.ObjectsUtil.createUpdateJournalRequest;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -63,6 +77,10 @@ class TrackedTemplateServiceTest {
   private CompleteTemplateRepository templateRepository;
   @Mock
   private TrackedTemplateRepository trackedTemplateRepository;
+  @Mock
+  private TemplateSnapshotStore snapshotStore;
+  @Mock
+  private TemplateSummaryQueryService summaryQueryService;
   @InjectMocks
   private TrackedTemplateService trackedTemplateService;
 
@@ -90,6 +108,8 @@ class TrackedTemplateServiceTest {
     var result = trackedTemplateService.trackTemplate(ID);
 
     assertEquals(journal, result);
+    verify(snapshotStore, times(1)).externalize(journal);
+    verify(snapshotStore, times(1)).resolve(journal);
   }
 
   @Test
@@ -116,17 +136,80 @@ class TrackedTemplateServiceTest {
     UpdateTrackedTemplateRequest request = createUpdateJournalRequest();
     TrackedTemplate journal = createJournal();
     TrackedStep mappedStep = createTrackedStepsList().get(0);
+    mappedStep.setProgressionStatus(ProgressionStatus.COMPLETED);
 
-    when(trackedTemplateRepository.findById(ID)).thenReturn(Optional.of(journal));
+    when(trackedTemplateRepository.findForUpdate(ID)).thenReturn(Optional.of(journal));
     when(stepMapper.toTrackedStep(any())).thenReturn(mappedStep);
-    when(progressionStatusHelper.aggregateStepProgressionStatus(any())).thenReturn(ProgressionStatus.IN_PROGRESS);
+    when(progressionStatusHelper.aggregateProgressionStatus(any())).thenReturn(ProgressionStatus.IN_PROGRESS);
+    when(trackedTemplateRepository.updateIfVersionMatches(eq(ID), any(), any())).thenReturn(true);
 
     trackedTemplateService.updateTrackedTemplate(request, ID);
 
+    ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
     verify(progressionStatusHelper, times(1)).validateStatusApplicability(any());
-    verify(progressionStatusHelper, times(1)).validateProgressionStepOrdering(anyList());
+    verify(progressionStatusHelper, times(1)).validateProgressionStepOrdering(anyList(), anyCollection());
     verify(progressionStatusHelper, times(1)).checkProgressionStatusApplicability(any(), any());
-    verify(trackedTemplateRepository, times(1)).save(journal);
+    verify(trackedTemplateRepository, times(1)).updateIfVersionMatches(eq(ID), isNull(), updateCaptor.capture());
+    verify(trackedTemplateRepository, never()).save(any());
+
+    Document setFields = updateCaptor.getValue().getUpdateObject().get("$set", Document.class);
+    assertEquals(ProgressionStatus.COMPLETED, setFields.get("trackedSteps.0.progressionStatus"));
+    assertEquals(ProgressionStatus.ON_HOLD, setFields.get("currentStatus"));
+    assertFalse(setFields.containsKey("trackedSteps.0.markedUpTitle"));
+    assertFalse(setFields.keySet().stream().anyMatch(key -> key.startsWith("trackedSteps.1.")));
+    StepStatusCounts statusCounts = (StepStatusCounts) setFields.get("stepStatusCounts");
+    assertEquals(1, statusCounts.getCompleted());
+    assertEquals(StepStatusCounts.of(createTrackedStepsList()).getInProgress() - 1, statusCounts.getInProgress());
+    verify(progressionStatusHelper).validateProgressionStepOrdering(journal.getTrackedSteps(), List.of(0));
+  }
+
+  @Test
+  void updateTrackedTemplate_NullStepFields_TextKeptOthersCleared() {
+    UpdateTrackedTemplateRequest request = createUpdateJournalRequest();
+    TrackedTemplate journal = createJournal();
+    journal.getTrackedSteps().get(0).setNotes(List.of(CONTENT));
+    TrackedStep mappedStep = TrackedStep.builder()
+        .progressionStatus(journal.getTrackedSteps().get(0).getProgressionStatus())
+        .build();
+
+    when(trackedTemplateRepository.findForUpdate(ID)).thenReturn(Optional.of(journal));
+    when(stepMapper.toTrackedStep(any())).thenReturn(mappedStep);
+    when(progressionStatusHelper.aggregateProgressionStatus(any())).thenReturn(ProgressionStatus.IN_PROGRESS);
+    when(trackedTemplateRepository.updateIfVersionMatches(eq(ID), any(), any())).thenReturn(true);
+
+    trackedTemplateService.updateTrackedTemplate(request, ID);
+
+    ArgumentCaptor<Update> updateCaptor = ArgumentCaptor.forClass(Update.class);
+    verify(trackedTemplateRepository).updateIfVersionMatches(eq(ID), isNull(), updateCaptor.capture());
+
+    Document setFields = updateCaptor.getValue().getUpdateObject().get("$set", Document.class);
+    assertFalse(setFields.containsKey("trackedSteps.0.markedUpTitle"));
+    assertFalse(setFields.containsKey("trackedSteps.0.markedUpContent"));
+    assertTrue(setFields.containsKey("trackedSteps.0.notes"));
+    assertNull(setFields.get("trackedSteps.0.notes"));
+    assertTrue(setFields.containsKey("trackedSteps.0.timeSpent"));
+    assertNull(setFields.get("trackedSteps.0.timeSpent"));
+    TrackedStep updatedStep = journal.getTrackedSteps().get(0);
+    assertEquals(createTrackedStepsList().get(0).getMarkedUpTitle(), updatedStep.getMarkedUpTitle());
+    assertEquals(createTrackedStepsList().get(0).getMarkedUpContent(), updatedStep.getMarkedUpContent());
+    assertNull(updatedStep.getNotes());
+    assertNull(updatedStep.getTimeSpent());
+  }
+
+  @Test
+  void updateTrackedTemplate_VersionChanged_Exception() {
+    UpdateTrackedTemplateRequest request = new UpdateTrackedTemplateRequest();
+    request.setTrackedSteps(new HashMap<>());
+    TrackedTemplate journal = createJournal();
+    journal.setVersion(3L);
+
+    when(trackedTemplateRepository.findForUpdate(ID)).thenReturn(Optional.of(journal));
+    when(progressionStatusHelper.aggregateProgressionStatus(any())).thenReturn(ProgressionStatus.IN_PROGRESS);
+    when(trackedTemplateRepository.updateIfVersionMatches(eq(ID), eq(3L), any())).thenReturn(false);
+
+    TemplateException exception = assertThrows(TemplateException.class,
+        () -> trackedTemplateService.updateTrackedTemplate(request, ID));
+    assertEquals(HttpStatus.CONFLICT, exception.getStatus());
   }
 
   @Test
@@ -137,8 +220,9 @@ class TrackedTemplateServiceTest {
     TrackedTemplate journal = createJournal();
     ProgressionStatus expectedStatus = ProgressionStatus.IN_PROGRESS;
 
-    when(trackedTemplateRepository.findById(ID)).thenReturn(Optional.of(journal));
-    when(progressionStatusHelper.aggregateStepProgressionStatus(any())).thenReturn(expectedStatus);
+    when(trackedTemplateRepository.findForUpdate(ID)).thenReturn(Optional.of(journal));
+    when(progressionStatusHelper.aggregateProgressionStatus(any())).thenReturn(expectedStatus);
+    when(trackedTemplateRepository.updateIfVersionMatches(eq(ID), any(), any())).thenReturn(true);
 
     trackedTemplateService.updateTrackedTemplate(request, ID);
 
@@ -148,9 +232,9 @@ class TrackedTemplateServiceTest {
     assertEquals(journal.getCurrentStatus(), expectedStatus);
 
     verify(progressionStatusHelper, times(1)).validateStatusApplicability(any());
-    verify(progressionStatusHelper, times(1)).validateProgressionStepOrdering(anyList());
-    verify(progressionStatusHelper, times(1)).aggregateStepProgressionStatus(any());
-    verify(trackedTemplateRepository, times(1)).save(journal);
+    verify(progressionStatusHelper, times(1)).validateProgressionStepOrdering(anyList(), anyCollection());
+    verify(progressionStatusHelper, times(1)).aggregateProgressionStatus(any());
+    verify(trackedTemplateRepository, times(1)).updateIfVersionMatches(eq(ID), any(), any());
   }
 
   @Test
@@ -159,7 +243,7 @@ class TrackedTemplateServiceTest {
     TrackedTemplate journal = createJournal();
     journal.setTrackedSteps(new ArrayList<>());
 
-    when(trackedTemplateRepository.findById(ID)).thenReturn(Optional.of(journal));
+    when(trackedTemplateRepository.findForUpdate(ID)).thenReturn(Optional.of(journal));
 
     assertThrows(TemplateException.class, () -> trackedTemplateService.updateTrackedTemplate(request, ID));
   }
@@ -168,7 +252,7 @@ class TrackedTemplateServiceTest {
   void updateTrackedTemplate_NoJournalFound_Exception() {
     UpdateTrackedTemplateRequest request = createUpdateJournalRequest();
 
-    when(trackedTemplateRepository.findById(ID)).thenReturn(Optional.empty());
+    when(trackedTemplateRepository.findForUpdate(ID)).thenReturn(Optional.empty());
 
     assertThrows(TemplateException.class, () -> trackedTemplateService.updateTrackedTemplate(request, ID));
   }
@@ -220,6 +304,47 @@ class TrackedTemplateServiceTest {
     assertThrows(TemplateException.class, () -> trackedTemplateService.getJournalsForUser(SECOND_USER));
   }
 
+  @Test
+  void streamJournalsForUser_UserIsOwner_JournalsResolvedWhileStreamed() {
+    TrackedTemplate journal = createJournal();
+
+    mockSecurity(USER);
+    when(trackedTemplateRepository.streamTrackedTemplatesByOwnerName(USER)).thenReturn(Stream.of(journal));
+
+    try (Stream<TrackedTemplate> result = trackedTemplateService.streamJournalsForUser(USER)) {
+      verify(snapshotStore, never()).resolve(any());
+      assertEquals(List.of(journal), result.toList());
+    }
+    verify(snapshotStore).resolve(journal);
+  }
+
+  @Test
+  void streamJournalsForUser_UserIsNotOwner_Exception() {
+    mockSecurity(USER);
+
+    assertThrows(TemplateException.class, () -> trackedTemplateService.streamJournalsForUser(SECOND_USER));
+    verify(trackedTemplateRepository, never()).streamTrackedTemplatesByOwnerName(any());
+  }
+
+  @Test
+  void getJournalSummariesForUser_UserIsOwner_SummariesRetrieved() {
+    List<JournalSummary> summaries = List.of(JournalSummary.builder().id(ID).build());
+
+    mockSecurity(USER);
+    when(summaryQueryService.findJournalSummariesByOwner(USER)).thenReturn(summaries);
+
+    var result = trackedTemplateService.getJournalSummariesForUser(USER);
+
+    assertEquals(summaries, result);
+  }
+
+  @Test
+  void getJournalSummariesForUser_UserIsNotOwner_Exception() {
+    mockSecurity(USER);
+
+    assertThrows(TemplateException.class, () -> trackedTemplateService.getJournalSummariesForUser(SECOND_USER));
+  }
+
   @Test
   void deleteTrackedTemplate_UserIsOwner_JournalIsDeleted() {
     mockSecurity(USER);
@@ -10,6 +10,7 @@ import com.test.template.models.draft.TemplateDraft;
 import com.test.template.models.draft.TemplateDraftRequest;
 import com.test.template.models.enums.ProgressionStatus;
 import com.test.template.models.steps.TrackedStep;
+import com.test.template.models.tracked.StepStatusCounts;
 import com.test.template.models.tracked.TrackedTemplate;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -149,6 +150,8 @@ class TemplateBuilderTest {
     expectedTemplate.setId(null);
     expectedTemplate.setSharedWith(request.getSharedWith());
     expectedTemplate.setCreateTime(now);
+    expectedTemplate.setLastModified(now);
+    expectedTemplate.refreshDerivedMetrics();
 
     MockedStatic<LocalDateTime> mockedDate = mockStatic(LocalDateTime.class);
     mockedDate.when(LocalDateTime::now).thenReturn(now);
@@ -179,6 +182,7 @@ class TemplateBuilderTest {
     journal.setTrackedSteps(List.of(emptyStep));
     journal.setTrackedRequirements(null);
     journal.setCurrentStatus(ProgressionStatus.NOT_STARTED);
+    journal.setStepStatusCounts(new StepStatusCounts(1, 1, 0, 0, 0));
     journal.setCreationTime(now);
 
     MockedStatic<LocalDateTime> mockedDate = mockStatic(LocalDateTime.class);
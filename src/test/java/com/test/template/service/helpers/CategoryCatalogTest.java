@@ -0,0 +1,123 @@
+package com.test.template.service.helpers;
+
+import com.test.template.models.categorization.Category;
+import com.test.template.repository.CategoryRepository;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import static com.test.utils.ObjectsUtil.CATEGORY_ID;
+import static com.test.utils.ObjectsUtil.TAG_NAME;
+import static com.test.utils.ObjectsUtil.createCategory;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CategoryCatalogTest {
+
+  @Mock
+  private CategoryRepository categoryRepository;
+
+  @InjectMocks
+  private CategoryCatalog categoryCatalog;
+
+  @Test
+  void findById_CatalogLoaded_ServedWithoutRepository() {
+    when(categoryRepository.findAll()).thenReturn(List.of(createCategoryWithId()));
+
+    categoryCatalog.load();
+    categoryCatalog.findById(CATEGORY_ID);
+    var result = categoryCatalog.findById(CATEGORY_ID);
+
+    assertTrue(result.isPresent());
+    assertEquals(Set.of(TAG_NAME), result.get().getChildTags());
+    assertTrue(categoryCatalog.findById("missing").isEmpty());
+    verify(categoryRepository, times(1)).findAll();
+  }
+
+  @Test
+  void getCategories_LoadFailedOnStartup_LoadedOnFirstUse() {
+    when(categoryRepository.findAll())
+        .thenThrow(new DataAccessResourceFailureException("unavailable"))
+        .thenReturn(List.of(createCategoryWithId()));
+
+    categoryCatalog.load();
+    var result = categoryCatalog.getCategories();
+
+    assertEquals(1, result.size());
+    verify(categoryRepository, times(2)).findAll();
+  }
+
+  @Test
+  void refresh_CategoriesUnchanged_VersionKept() {
+    when(categoryRepository.findAll()).thenReturn(List.of(createCategoryWithId()));
+
+    categoryCatalog.refresh();
+    String version = categoryCatalog.getVersion();
+    categoryCatalog.refresh();
+
+    assertEquals(version, categoryCatalog.getVersion());
+  }
+
+  @Test
+  void refresh_TagAdded_NewTagServedAndVersionChanged() {
+    Category updatedCategory = createCategoryWithId();
+    updatedCategory.setChildTags(new HashSet<>(Set.of(TAG_NAME, "new")));
+    when(categoryRepository.findAll())
+        .thenReturn(List.of(createCategoryWithId()))
+        .thenReturn(List.of(updatedCategory));
+
+    categoryCatalog.refresh();
+    String version = categoryCatalog.getVersion();
+    categoryCatalog.refresh();
+
+    assertNotEquals(version, categoryCatalog.getVersion());
+    assertTrue(categoryCatalog.findById(CATEGORY_ID).orElseThrow().getChildTags().contains("new"));
+  }
+
+  @Test
+  void refresh_SameCategoriesInOtherCatalog_SameVersion() {
+    Category category = createCategoryWithId();
+    category.setChildTags(new LinkedHashSet<>(List.of(TAG_NAME, "first", "second")));
+    Category reorderedCategory = createCategoryWithId();
+    reorderedCategory.setChildTags(new LinkedHashSet<>(List.of("second", "first", TAG_NAME)));
+    CategoryRepository otherRepository = mock(CategoryRepository.class);
+    when(categoryRepository.findAll()).thenReturn(List.of(category));
+    when(otherRepository.findAll()).thenReturn(List.of(reorderedCategory));
+
+    categoryCatalog.refresh();
+    CategoryCatalog otherCatalog = new CategoryCatalog(otherRepository);
+    otherCatalog.refresh();
+
+    assertEquals(categoryCatalog.getVersion(), otherCatalog.getVersion());
+  }
+
+  @Test
+  void getCategories_CatalogEntries_Immutable() {
+    when(categoryRepository.findAll()).thenReturn(List.of(createCategoryWithId()));
+
+    var childTags = categoryCatalog.getCategories().get(0).getChildTags();
+
+    assertThrows(UnsupportedOperationException.class, () -> childTags.add("new"));
+  }
+
+  private Category createCategoryWithId() {
+    Category category = createCategory();
+    category.setId(CATEGORY_ID);
+    return category;
+  }
+
+}
@@ -5,8 +5,7 @@ import com.test.template.models.complete.CompleteTemplate;
 import com.test.template.models.enums.AccessStatus;
 import com.test.template.models.enums.BranchPermission;
 import com.test.user.models.TemplateUser;
-import com.test.user.models.groups.UserGroup;
-import com.test.user.repository.UserGroupRepository;
+import com.test.user.service.impl.GroupMembershipIndex;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
@@ -30,6 +29,8 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,7 +40,7 @@ class TemplateAccessHelperTest {
   private SecurityContext securityContext = Mockito.mock(SecurityContext.class);
 
   @Mock
-  private UserGroupRepository userGroupRepository;
+  private GroupMembershipIndex groupMembershipIndex;
   @InjectMocks
   private TemplateAccessHelper templateAccessHelper;
 
@@ -82,15 +83,12 @@ class TemplateAccessHelperTest {
 
   @Test
   void templateCanBeAccessed_GroupTemplateUserInGroup_Success() {
-    UserGroup userGroup = new UserGroup();
-    userGroup.setMembers(Set.of(USER));
-
     CompleteTemplate template = new CompleteTemplate();
     template.setAccessStatus(AccessStatus.GROUP);
     template.setAssociatedGroup("group");
 
     mockSecurity(USER);
-    when(userGroupRepository.findById(anyString())).thenReturn(Optional.of(userGroup));
+    when(groupMembershipIndex.getMembers(anyString())).thenReturn(Optional.of(Set.of(USER)));
 
     var result = templateAccessHelper.templateCanBeAccessed(template);
 
@@ -104,11 +102,25 @@ class TemplateAccessHelperTest {
     template.setAssociatedGroup("group");
 
     mockSecurity(USER);
-    when(userGroupRepository.findById(anyString())).thenReturn(Optional.empty());
+    when(groupMembershipIndex.getMembers(anyString())).thenReturn(Optional.empty());
 
     assertThrows(TemplateException.class, () -> templateAccessHelper.templateCanBeAccessed(template));
   }
 
+  @Test
+  void templateCanBeAccessed_GroupTemplateAnonymousUser_ReturnFalse() {
+    CompleteTemplate template = new CompleteTemplate();
+    template.setAccessStatus(AccessStatus.GROUP);
+    template.setAssociatedGroup("group");
+
+    mockSecurity(null);
+
+    var result = templateAccessHelper.templateCanBeAccessed(template);
+
+    assertFalse(result);
+    verify(groupMembershipIndex, never()).getMembers(anyString());
+  }
+
   @Test
   void templateCanBeAccessed_PublicTemplate_AlwaysTrue() {
     CompleteTemplate template = new CompleteTemplate();
@@ -196,11 +208,8 @@ class TemplateAccessHelperTest {
     template.setBranchPermission(BranchPermission.GROUP_ONLY);
     template.setAssociatedGroup("group");
 
-    UserGroup userGroup = new UserGroup();
-    userGroup.setMembers(Set.of(USER));
-
     mockSecurity(USER);
-    when(userGroupRepository.findById(anyString())).thenReturn(Optional.of(userGroup));
+    when(groupMembershipIndex.getMembers(anyString())).thenReturn(Optional.of(Set.of(USER)));
 
     var result = templateAccessHelper.templateCanBeBranched(template, null);
 
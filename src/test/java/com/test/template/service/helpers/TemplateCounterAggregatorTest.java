@@ -0,0 +1,126 @@
+package com.test.template.service.helpers;
+
+import com.test.template.models.complete.CompleteTemplate;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static com.test.utils.ObjectsUtil.ID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TemplateCounterAggregatorTest {
+
+  private static final String SECOND_ID = "secondId";
+
+  @Mock
+  private MongoTemplate mongoTemplate;
+  @Mock
+  private BulkOperations bulkOperations;
+
+  @InjectMocks
+  private TemplateCounterAggregator counterAggregator;
+
+  @Test
+  void flush_Views_SingleIncrementUpdate() {
+    when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CompleteTemplate.class)).thenReturn(bulkOperations);
+
+    counterAggregator.incrementViews(ID);
+    counterAggregator.incrementViews(ID);
+    counterAggregator.flush();
+
+    ArgumentCaptor<UpdateDefinition> updateCaptor = ArgumentCaptor.forClass(UpdateDefinition.class);
+    verify(bulkOperations).updateOne(any(Query.class), updateCaptor.capture());
+    verify(bulkOperations).execute();
+    Update update = assertInstanceOf(Update.class, updateCaptor.getValue());
+    assertEquals(2L, update.getUpdateObject().get("$inc", Document.class).get("views"));
+  }
+
+  @Test
+  void flush_Approvals_PipelineUpdate() {
+    when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CompleteTemplate.class)).thenReturn(bulkOperations);
+
+    counterAggregator.addApprovals(ID, 1, 1);
+    counterAggregator.addApprovals(ID, -1, 0);
+    counterAggregator.flush();
+
+    verify(bulkOperations).updateOne(any(Query.class), any(AggregationUpdate.class));
+  }
+
+  @Test
+  void flush_NoChanges_NothingWritten() {
+    counterAggregator.flush();
+
+    verify(mongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class), any(Class.class));
+  }
+
+  @Test
+  void flush_WriteFails_DeltasRetried() {
+    when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CompleteTemplate.class)).thenReturn(bulkOperations);
+    when(bulkOperations.execute()).thenThrow(new DataAccessResourceFailureException("down"));
+
+    counterAggregator.incrementViews(ID);
+    counterAggregator.flush();
+    counterAggregator.flush();
+
+    verify(bulkOperations, times(2)).updateOne(any(Query.class), any(UpdateDefinition.class));
+    verify(bulkOperations, times(2)).execute();
+  }
+
+  @Test
+  void flush_PartialWriteFailure_OnlyFailedDeltasRetried() {
+    List<Object> updatedIds = new ArrayList<>();
+    when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, CompleteTemplate.class)).thenReturn(bulkOperations);
+    when(bulkOperations.updateOne(any(Query.class), any(UpdateDefinition.class))).thenAnswer(invocation -> {
+      updatedIds.add(invocation.<Query>getArgument(0).getQueryObject().get("id"));
+      return bulkOperations;
+    });
+    when(bulkOperations.execute())
+        .thenAnswer(invocation -> {
+          throw bulkFailure(updatedIds.indexOf(ID));
+        })
+        .thenReturn(null);
+
+    counterAggregator.incrementViews(ID);
+    counterAggregator.incrementViews(SECOND_ID);
+    counterAggregator.flush();
+    counterAggregator.flush();
+
+    assertEquals(List.of(ID), updatedIds.subList(2, updatedIds.size()));
+  }
+
+  private static BulkOperationException bulkFailure(final int failedIndex) {
+    BulkWriteError error = new BulkWriteError(11000, "duplicate", new BsonDocument(), failedIndex);
+    return new BulkOperationException("partial failure", new MongoBulkWriteException(
+        BulkWriteResult.acknowledged(0, 1, 0, 1, List.of(), List.of()), List.of(error), null,
+        new ServerAddress(), Set.of()));
+  }
+
+}
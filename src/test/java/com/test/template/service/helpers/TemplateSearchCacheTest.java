@@ -0,0 +1,41 @@
+package com.test.template.service.helpers;
+
+import com.test.template.models.complete.CompleteTemplateFilters;
+import com.test.utils.ObjectsUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TemplateSearchCacheTest {
+
+  @Test
+  void get_SameFilters_SearchesOnce() {
+    TemplateSearchCache cache = new TemplateSearchCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+    CompleteTemplateFilters filters = ObjectsUtil.createTemplateFilters();
+    AtomicInteger searches = new AtomicInteger();
+
+    cache.get(TemplateSearchCache.SearchType.PAGE, filters, searches::incrementAndGet);
+    Integer result = cache.get(TemplateSearchCache.SearchType.PAGE, filters, searches::incrementAndGet);
+
+    assertEquals(1, result);
+    assertEquals(1, searches.get());
+  }
+
+  @Test
+  void get_MaximumSizeZero_SearchesEveryTime() {
+    TemplateSearchCache cache = new TemplateSearchCache(new SimpleMeterRegistry(), 0, Duration.ofMinutes(1));
+    CompleteTemplateFilters filters = ObjectsUtil.createTemplateFilters();
+    AtomicInteger searches = new AtomicInteger();
+
+    cache.get(TemplateSearchCache.SearchType.PAGE, filters, searches::incrementAndGet);
+    Integer result = cache.get(TemplateSearchCache.SearchType.PAGE, filters, searches::incrementAndGet);
+
+    assertEquals(2, result);
+    assertEquals(2, searches.get());
+  }
+
+}
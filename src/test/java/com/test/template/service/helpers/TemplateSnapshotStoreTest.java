@@ -0,0 +1,150 @@
+package com.test.template.service.helpers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.test.template.models.complete.SimpleCompleteTemplate;
+import com.test.template.models.enums.JournalStorageMode;
+import com.test.template.models.tracked.TemplateSnapshot;
+import com.test.template.models.tracked.TrackedTemplate;
+import com.test.template.repository.TemplateSnapshotRepository;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static com.test.utils.ObjectsUtil.ID;
+import static com.test.utils.ObjectsUtil.TITLE;
+import static com.test.utils.ObjectsUtil.createJournal;
+import static com.test.utils.ObjectsUtil.createSimpleCompleteTemplate;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TemplateSnapshotStoreTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+  @Mock
+  private TemplateSnapshotRepository snapshotRepository;
+
+  @Test
+  void externalize_ReferenceMode_SnapshotStoredAndStubKept() {
+    TemplateSnapshotStore snapshotStore = createStore(JournalStorageMode.REFERENCE);
+    TrackedTemplate journal = createJournalWithOriginal();
+    SimpleCompleteTemplate original = journal.getOriginalTemplate();
+
+    snapshotStore.externalize(journal);
+
+    ArgumentCaptor<TemplateSnapshot> snapshotCaptor = ArgumentCaptor.forClass(TemplateSnapshot.class);
+    verify(snapshotRepository, times(1)).save(snapshotCaptor.capture());
+    assertEquals(journal.getSnapshotId(), snapshotCaptor.getValue().getId());
+    assertSame(original, snapshotCaptor.getValue().getTemplate());
+    assertEquals(ID, journal.getOriginalTemplate().getId());
+    assertEquals(TITLE, journal.getOriginalTemplate().getTitle());
+    assertNull(journal.getOriginalTemplate().getSteps());
+    assertNull(journal.getOriginalTemplate().getContent());
+  }
+
+  @Test
+  void externalize_SameContentTwice_SnapshotStoredOnce() {
+    TemplateSnapshotStore snapshotStore = createStore(JournalStorageMode.REFERENCE);
+    TrackedTemplate firstJournal = createJournalWithOriginal();
+    TrackedTemplate secondJournal = createJournalWithOriginal();
+
+    snapshotStore.externalize(firstJournal);
+    snapshotStore.externalize(secondJournal);
+
+    assertEquals(firstJournal.getSnapshotId(), secondJournal.getSnapshotId());
+    verify(snapshotRepository, times(1)).save(any());
+  }
+
+  @Test
+  void externalize_EmbeddedMode_JournalUnchanged() {
+    TemplateSnapshotStore snapshotStore = createStore(JournalStorageMode.EMBEDDED);
+    TrackedTemplate journal = createJournalWithOriginal();
+    SimpleCompleteTemplate original = journal.getOriginalTemplate();
+
+    snapshotStore.externalize(journal);
+
+    assertNull(journal.getSnapshotId());
+    assertSame(original, journal.getOriginalTemplate());
+    verifyNoInteractions(snapshotRepository);
+  }
+
+  @Test
+  void resolveAll_SnapshotReferenced_OriginalLoadedOnce() {
+    TemplateSnapshotStore snapshotStore = createStore(JournalStorageMode.REFERENCE);
+    SimpleCompleteTemplate original = createSimpleCompleteTemplate();
+    TrackedTemplate firstJournal = createJournal();
+    firstJournal.setSnapshotId(ID);
+    TrackedTemplate secondJournal = createJournal();
+    secondJournal.setSnapshotId(ID);
+    when(snapshotRepository.findAllById(anyIterable()))
+        .thenReturn(List.of(TemplateSnapshot.builder().id(ID).template(original).build()));
+
+    snapshotStore.resolveAll(List.of(firstJournal, secondJournal));
+    snapshotStore.resolve(createJournal());
+    snapshotStore.resolveAll(List.of(firstJournal));
+
+    assertEquals(original, firstJournal.getOriginalTemplate());
+    assertEquals(original, secondJournal.getOriginalTemplate());
+    verify(snapshotRepository, times(1)).findAllById(anyIterable());
+  }
+
+  @Test
+  void resolveAll_OneOriginalChanged_OtherJournalsUnaffected() {
+    TemplateSnapshotStore snapshotStore = createStore(JournalStorageMode.REFERENCE);
+    SimpleCompleteTemplate original = createSimpleCompleteTemplate();
+    TrackedTemplate firstJournal = createJournal();
+    firstJournal.setSnapshotId(ID);
+    TrackedTemplate secondJournal = createJournal();
+    secondJournal.setSnapshotId(ID);
+    TrackedTemplate laterJournal = createJournal();
+    laterJournal.setSnapshotId(ID);
+    when(snapshotRepository.findAllById(anyIterable()))
+        .thenReturn(List.of(TemplateSnapshot.builder().id(ID).template(original).build()));
+
+    snapshotStore.resolveAll(List.of(firstJournal, secondJournal));
+    firstJournal.getOriginalTemplate().setTitle("Changed");
+    firstJournal.getOriginalTemplate().getSteps().get(0).setTitle("Changed");
+    snapshotStore.resolve(laterJournal);
+
+    assertNotSame(firstJournal.getOriginalTemplate(), secondJournal.getOriginalTemplate());
+    assertEquals(original, secondJournal.getOriginalTemplate());
+    assertEquals(original, laterJournal.getOriginalTemplate());
+  }
+
+  @Test
+  void resolve_EmbeddedJournal_NoLookup() {
+    TemplateSnapshotStore snapshotStore = createStore(JournalStorageMode.REFERENCE);
+    TrackedTemplate journal = createJournalWithOriginal();
+
+    snapshotStore.resolve(journal);
+
+    assertNotNull(journal.getOriginalTemplate().getSteps());
+    verify(snapshotRepository, never()).findAllById(anyIterable());
+  }
+
+  private TemplateSnapshotStore createStore(final JournalStorageMode storageMode) {
+    return new TemplateSnapshotStore(snapshotRepository, objectMapper, storageMode, 100);
+  }
+
+  private TrackedTemplate createJournalWithOriginal() {
+    SimpleCompleteTemplate original = createSimpleCompleteTemplate();
+    original.setId(ID);
+    TrackedTemplate journal = createJournal();
+    journal.setOriginalTemplate(original);
+    return journal;
+  }
+
+}
@@ -0,0 +1,97 @@
+package com.test.user.service.impl;
+
+import com.test.user.models.groups.UserGroup;
+import com.test.user.repository.UserGroupRepository;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static com.test.utils.ObjectsUtil.ID;
+import static com.test.utils.ObjectsUtil.SECOND_USER;
+import static com.test.utils.ObjectsUtil.USER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GroupMembershipIndexTest {
+
+  @Mock
+  private UserGroupRepository groupRepository;
+
+  private GroupMembershipIndex groupMembershipIndex;
+
+  @BeforeEach
+  void setUp() {
+    groupMembershipIndex = new GroupMembershipIndex(groupRepository, 100, Duration.ofMinutes(1));
+  }
+
+  @Test
+  void getMembers_RepeatedLookups_LoadedOnce() {
+    UserGroup group = new UserGroup();
+    group.setMembers(new HashSet<>(Set.of(USER)));
+    when(groupRepository.findMembersById(ID)).thenReturn(Optional.of(group));
+
+    groupMembershipIndex.getMembers(ID);
+    var result = groupMembershipIndex.getMembers(ID);
+
+    assertEquals(Optional.of(Set.of(USER)), result);
+    verify(groupRepository, times(1)).findMembersById(ID);
+  }
+
+  @Test
+  void getMembers_Invalidated_Reloaded() {
+    UserGroup group = new UserGroup();
+    group.setMembers(new HashSet<>(Set.of(USER)));
+    when(groupRepository.findMembersById(ID)).thenReturn(Optional.of(group));
+
+    groupMembershipIndex.getMembers(ID);
+    groupMembershipIndex.invalidate(ID);
+    groupMembershipIndex.getMembers(ID);
+
+    verify(groupRepository, times(2)).findMembersById(ID);
+  }
+
+  @Test
+  void getMembers_GroupMissing_EmptyAndNotCached() {
+    when(groupRepository.findMembersById(ID)).thenReturn(Optional.empty());
+
+    assertTrue(groupMembershipIndex.getMembers(ID).isEmpty());
+    assertTrue(groupMembershipIndex.getMembers(ID).isEmpty());
+    verify(groupRepository, times(2)).findMembersById(ID);
+  }
+
+  @Test
+  void getGroupsOfMember_JoinedGroupNotCreated_GroupIncluded() {
+    UserGroup createdGroup = new UserGroup();
+    createdGroup.setId(ID);
+    UserGroup joinedGroup = new UserGroup();
+    joinedGroup.setId("joinedGroup");
+    joinedGroup.setCreator(SECOND_USER);
+    when(groupRepository.findIdsByMember(USER)).thenReturn(List.of(createdGroup, joinedGroup));
+
+    var result = groupMembershipIndex.getGroupsOfMember(USER);
+
+    assertEquals(Set.of(ID, "joinedGroup"), result);
+  }
+
+  @Test
+  void getGroupsOfMember_AnonymousUser_NoGroups() {
+    var result = groupMembershipIndex.getGroupsOfMember(null);
+
+    assertTrue(result.isEmpty());
+    verify(groupRepository, never()).findIdsByMember(any());
+  }
+
+}
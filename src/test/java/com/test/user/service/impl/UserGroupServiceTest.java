@@ -42,6 +42,8 @@ class UserGroupServiceTest {
   private TemplateUserRepository templateUserRepository;
   @Mock
   private UserGroupRepository groupRepository;
+  @Mock
+  private GroupMembershipIndex groupMembershipIndex;
   @InjectMocks
   private UserGroupService userGroupService;
 
@@ -67,6 +69,7 @@ class UserGroupServiceTest {
     var result = userGroupService.createUserGroup(request);
 
     verify(templateUserRepository, times(1)).addGroupToUser(USER, ID);
+    verify(groupMembershipIndex, times(1)).invalidate(ID);
     assertEquals(group, result);
   }
 
@@ -89,6 +92,8 @@ class UserGroupServiceTest {
     userGroupService.joinGroup(ID);
 
     verify(groupRepository, times(1)).save(userGroup);
+    verify(templateUserRepository, times(1)).addGroupToUser(SECOND_USER, ID);
+    verify(groupMembershipIndex, times(1)).invalidate(ID);
     assertTrue(userGroup.getMembers().contains(SECOND_USER));
   }
 
@@ -139,6 +144,7 @@ class UserGroupServiceTest {
 
     verify(templateUserRepository, times(1)).pullGroupFromUser(SECOND_USER, ID);
     verify(groupRepository, times(1)).save(userGroup);
+    verify(groupMembershipIndex, times(1)).invalidate(ID);
     assertFalse(userGroup.getMembers().contains(SECOND_USER));
   }
 
@@ -0,0 +1,57 @@
+package com.test.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NdjsonWriterTest {
+
+  private final NdjsonWriter ndjsonWriter = new NdjsonWriter(new ObjectMapper());
+
+  @Test
+  void write_MultipleElements_OneLinePerElement() throws IOException {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    ndjsonWriter.write(Stream.of(Map.of("id", "1"), Map.of("id", "2")), outputStream);
+
+    assertEquals("{\"id\":\"1\"}\n{\"id\":\"2\"}\n", outputStream.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void write_NoElements_EmptyBody() throws IOException {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    ndjsonWriter.write(Stream.empty(), outputStream);
+
+    assertEquals(0, outputStream.size());
+  }
+
+  @Test
+  void toResponse_BodyWritten_StreamClosed() throws IOException {
+    AtomicBoolean closed = new AtomicBoolean();
+    Stream<String> elements = List.of("first", "second").stream().onClose(() -> closed.set(true));
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    ResponseEntity<StreamingResponseBody> response = ndjsonWriter.toResponse(elements);
+    assertNotNull(response.getBody());
+    response.getBody().writeTo(outputStream);
+
+    assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+    assertEquals("\"first\"\n\"second\"\n", outputStream.toString(StandardCharsets.UTF_8));
+    assertTrue(closed.get());
+  }
+
+}
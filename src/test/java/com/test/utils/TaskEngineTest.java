@@ -0,0 +1,43 @@
+package com.test.utils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskEngineTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @Test
+  void execute_TaskSubmitted_RunsAndRecordsMetrics() throws InterruptedException {
+    TaskEngine taskEngine = new TaskEngine(meterRegistry, 1, 10, Duration.ofSeconds(1));
+    CountDownLatch latch = new CountDownLatch(1);
+
+    taskEngine.execute(TaskType.OUTBOX_DISPATCH, latch::countDown);
+
+    assertTrue(latch.await(1, TimeUnit.SECONDS));
+    taskEngine.shutdown();
+    assertEquals(1, meterRegistry.get("task.engine.execution").tag("type", "OUTBOX_DISPATCH").timer().count());
+    assertEquals(0, meterRegistry.get("task.engine.pending").tag("type", "OUTBOX_DISPATCH").gauge().value());
+  }
+
+  @Test
+  void shutdown_PendingTasks_Drained() throws InterruptedException {
+    TaskEngine taskEngine = new TaskEngine(meterRegistry, 1, 10, Duration.ofSeconds(5));
+    AtomicInteger executed = new AtomicInteger();
+
+    for (int i = 0; i < 5; i++) {
+      taskEngine.execute(TaskType.OUTBOX_DISPATCH, executed::incrementAndGet);
+    }
+    taskEngine.shutdown();
+
+    assertEquals(5, executed.get());
+  }
+
+}
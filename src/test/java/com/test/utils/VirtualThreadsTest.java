@@ -0,0 +1,29 @@
+package com.test.utils;
+
+import java.util.concurrent.ThreadFactory;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VirtualThreadsTest {
+
+  @Test
+  void threadFactory_CurrentRuntime_PresentOnlyFromJava21() {
+    boolean supported = Runtime.version().feature() >= 21;
+
+    assertEquals(supported, VirtualThreads.isAvailable());
+    assertEquals(supported, VirtualThreads.threadFactory("test-").isPresent());
+  }
+
+  @Test
+  void threadFactory_Available_NamedThreadsCreated() {
+    VirtualThreads.threadFactory("test-").ifPresent(this::assertNamed);
+  }
+
+  private void assertNamed(ThreadFactory threadFactory) {
+    Thread thread = threadFactory.newThread(() -> { });
+    assertTrue(thread.getName().startsWith("test-"));
+  }
+
+}